@@ -0,0 +1,70 @@
+package com.journal.backend;
+
+import com.journal.backend.entity.JournalEntry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic, realistically shaped journal data shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    public static final LocalDateTime START = LocalDateTime.of(2020, 1, 2, 9, 30);
+
+    private static final String[] SYMBOLS = {
+            "AAPL", "MSFT", "NVDA", "TSLA", "AMZN", "META", "GOOGL", "AMD", "NFLX", "SPY",
+            "QQQ", "IWM", "BA", "JPM", "XOM", "COIN", "PLTR", "SHOP", "UBER", "DIS"
+    };
+
+    private static final String[] SETUPS = {
+            "Opening range breakout above VWAP with volume confirmation",
+            "Bull flag on the 5 minute chart after earnings gap",
+            "Failed breakdown reclaim of prior day low, tight stop under wick",
+            "Trend pullback to the 20 EMA, scaled out at first target",
+            "Short into resistance after lower high, covered at VWAP"
+    };
+
+    private BenchmarkData() {}
+
+    public static String userId(int user) {
+        return "trader-" + user + "@example.com";
+    }
+
+    public static String symbol(int index) {
+        return SYMBOLS[index % SYMBOLS.length];
+    }
+
+    public static List<JournalEntry> entries(int users, int entriesPerUser) {
+        Random random = new Random(42);
+        List<JournalEntry> entries = new ArrayList<>(users * entriesPerUser);
+        for (int user = 0; user < users; user++) {
+            for (int i = 0; i < entriesPerUser; i++) {
+                entries.add(entry(random, userId(user), i));
+            }
+        }
+        return entries;
+    }
+
+    public static JournalEntry entry(Random random, String userId, int sequence) {
+        LocalDateTime entryTime = START.plusMinutes(sequence * 97L + random.nextInt(60));
+        double price = 20 + random.nextDouble() * 480;
+        double size = 10 + random.nextInt(490);
+        boolean closed = random.nextInt(10) != 0;
+
+        JournalEntry entry = new JournalEntry(userId, entryTime, SYMBOLS[random.nextInt(SYMBOLS.length)], price, size);
+        entry.setStopLoss(price * 0.98);
+        entry.setTarget(price * 1.04);
+        entry.setTrailingStop(price * 0.99);
+        entry.setSetup(SETUPS[random.nextInt(SETUPS.length)]);
+        if (closed) {
+            double exit = price * (0.97 + random.nextDouble() * 0.07);
+            entry.setExitTime(entryTime.plusMinutes(5 + random.nextInt(300)));
+            entry.setExit(exit);
+            entry.setPnl((exit - price) * size);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,78 @@
+package com.journal.backend.auth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of session token authentication: the HMAC check alone, and the whole
+ * {@link SessionTokenFilter} (header parsing, path binding, security context) against the same
+ * filter on a request without a token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionTokenBenchmark {
+
+    private static final String USER = "trader-42@example.com";
+
+    private final SessionTokenService service = new SessionTokenService(new byte[32], Duration.ofHours(12));
+    private final SessionTokenFilter filter = new SessionTokenFilter(service);
+
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        token = service.issue(USER);
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    public String issue() {
+        return service.issue(USER);
+    }
+
+    @Benchmark
+    public Optional<String> verify() {
+        return service.verify(token);
+    }
+
+    @Benchmark
+    public Optional<String> verifyTampered() {
+        return service.verify(tamperedToken);
+    }
+
+    @Benchmark
+    public int filterWithToken() throws ServletException, IOException {
+        return runFilter("Bearer " + token);
+    }
+
+    @Benchmark
+    public int filterWithoutToken() throws ServletException, IOException {
+        return runFilter(null);
+    }
+
+    private int runFilter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/journal/user/" + USER + "/stats");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
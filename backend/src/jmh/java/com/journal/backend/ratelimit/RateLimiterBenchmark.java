@@ -0,0 +1,78 @@
+package com.journal.backend.ratelimit;
+
+import com.journal.backend.ratelimit.RateLimiter.EndpointClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RateLimiter#acquire} under contention. With the default 8 threads, {@code sharedBucket}
+ * has every thread CAS the same user and IP bucket, the worst case. {@code distinctUsers} is
+ * the realistic case: each thread is a different user, all behind one IP. {@code rejected} is an
+ * exhausted bucket, which is answered without a CAS. Compare against {@code -t 1} to see what
+ * contention costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final String IP = "203.0.113.7";
+
+    private RateLimiter unlimited;
+    private RateLimiter exhausted;
+
+    @Setup
+    public void setUp() {
+        // Effectively unlimited, so every call takes the successful CAS path
+        MockEnvironment generous = new MockEnvironment();
+        for (String scope : new String[] {"user", "ip"}) {
+            generous.setProperty("journal.ratelimit.read." + scope + "-per-second", "1e9");
+            generous.setProperty("journal.ratelimit.read." + scope + "-burst", "1000000");
+        }
+        unlimited = new RateLimiter(generous);
+
+        MockEnvironment strict = new MockEnvironment();
+        strict.setProperty("journal.ratelimit.read.user-per-second", "0.001");
+        strict.setProperty("journal.ratelimit.read.user-burst", "1");
+        exhausted = new RateLimiter(strict);
+        exhausted.acquire(EndpointClass.READ, "trader-0", IP);
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        String userId;
+
+        @Setup
+        public void setUp() {
+            userId = "trader-" + NEXT.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public long sharedBucket() {
+        return unlimited.acquire(EndpointClass.READ, "trader-0", IP);
+    }
+
+    @Benchmark
+    public long distinctUsers(Caller caller) {
+        return unlimited.acquire(EndpointClass.READ, caller.userId, IP);
+    }
+
+    @Benchmark
+    public long rejected() {
+        return exhausted.acquire(EndpointClass.READ, "trader-0", IP);
+    }
+}
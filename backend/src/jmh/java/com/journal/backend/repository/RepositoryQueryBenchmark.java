@@ -0,0 +1,206 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.BenchmarkData;
+import com.journal.backend.dto.SymbolSummary;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.entity.UserStats;
+import com.journal.backend.symbol.SymbolDictionary;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link JournalEntryRepository} queries against an embedded H2 seeded with many users. Uses a
+ * minimal JPA context rather than the Boot application, whose auto-configuration does not survive
+ * being merged into the benchmark jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryQueryBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 51);
+
+    @Param({"200"})
+    public int users;
+
+    @Param({"500"})
+    public int entriesPerUser;
+
+    private AnnotationConfigApplicationContext context;
+    private JournalEntryRepository repository;
+    private TransactionTemplate readOnly;
+
+    private int nextUser;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+    private JournalEntry deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(PersistenceConfig.class);
+        repository = context.getBean(JournalEntryRepository.class);
+        TransactionTemplate write = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<JournalEntry> entries = BenchmarkData.entries(users, entriesPerUser);
+        for (int from = 0; from < entries.size(); from += 5000) {
+            List<JournalEntry> chunk = entries.subList(from, Math.min(from + 5000, entries.size()));
+            write.executeWithoutResult(status -> repository.saveAll(chunk));
+        }
+
+        rangeStart = BenchmarkData.START.plusDays(30);
+        rangeEnd = rangeStart.plusDays(7);
+        List<JournalEntry> halfway = readOnly.execute(status -> repository.findFirstPageByUserId(
+                BenchmarkData.userId(0), PageRequest.of(0, entriesPerUser / 2)));
+        deepCursor = halfway.get(halfway.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<JournalEntry> findAllForUser() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.findByUserIdOrderByEntryTimeDesc(userId));
+    }
+
+    @Benchmark
+    public List<JournalEntry> findFirstPage() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.findFirstPageByUserId(userId, PAGE));
+    }
+
+    @Benchmark
+    public List<JournalEntry> findDeepPage() {
+        return readOnly.execute(status -> repository.findNextPageByUserId(
+                deepCursor.getUserId(), deepCursor.getEntryTime(), deepCursor.getId(), PAGE));
+    }
+
+    @Benchmark
+    public List<JournalEntry> findBySymbol() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.findByUserIdAndSymbolOrderByEntryTimeDesc(
+                userId, BenchmarkData.symbol(nextUser)));
+    }
+
+    @Benchmark
+    public List<JournalEntry> findByDateRange() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.findByUserIdAndEntryTimeBetween(userId, rangeStart, rangeEnd));
+    }
+
+    @Benchmark
+    public List<SymbolSummary> symbolBreakdown() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.aggregateBySymbolForUserId(userId));
+    }
+
+    @Benchmark
+    public long countByUser() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.countByUserId(userId));
+    }
+
+    @Benchmark
+    public Double totalPnlByUser() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.getTotalPnlByUserId(userId));
+    }
+
+    @Benchmark
+    public Optional<UserStats> aggregateStats() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> repository.aggregateStatsByUserId(userId));
+    }
+
+    @Benchmark
+    public long streamAnalyticsRows() {
+        String userId = nextUserId();
+        return readOnly.execute(status -> {
+            try (Stream<Object[]> rows = repository.streamAnalyticsRowsByUserId(userId)) {
+                return rows.count();
+            }
+        });
+    }
+
+    private String nextUserId() {
+        nextUser = (nextUser + 1) % users;
+        return BenchmarkData.userId(nextUser);
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = JournalEntryRepository.class)
+    static class PersistenceConfig {
+
+        @Bean(destroyMethod = "close")
+        public HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            return dataSource;
+        }
+
+        @Bean
+        public SymbolDictionary symbolDictionary() {
+            return new SymbolDictionary();
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+                                                                           ConfigurableListableBeanFactory beanFactory) {
+            Properties properties = new Properties();
+            properties.setProperty("hibernate.hbm2ddl.auto", "create");
+            properties.setProperty("hibernate.jdbc.batch_size", "50");
+            properties.setProperty("hibernate.order_inserts", "true");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(JournalEntry.class.getPackage().getName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            // Lets Hibernate inject the symbol dictionary into SymbolConverter, as Boot does
+            factory.getJpaPropertyMap().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+            return factory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
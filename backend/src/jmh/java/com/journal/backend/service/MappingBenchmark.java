@@ -0,0 +1,62 @@
+package com.journal.backend.service;
+
+import com.journal.backend.BenchmarkData;
+import com.journal.backend.dto.JournalEntryRequest;
+import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.entity.JournalEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the entity/DTO conversions in {@link JournalEntryService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private final JournalEntryService service = new JournalEntryService();
+
+    private JournalEntry entry;
+    private JournalEntryRequest request;
+
+    @Setup
+    public void setUp() {
+        entry = BenchmarkData.entries(1, 1).get(0);
+        entry.setId(1L);
+        entry.setCreatedAt(LocalDateTime.now());
+        entry.setUpdatedAt(LocalDateTime.now());
+
+        request = new JournalEntryRequest();
+        request.setUserId(entry.getUserId());
+        request.setEntryTime(entry.getEntryTime());
+        request.setSymbol(entry.getSymbol());
+        request.setEntry(entry.getEntry());
+        request.setStopLoss(entry.getStopLoss());
+        request.setPositionSize(entry.getPositionSize());
+        request.setTarget(entry.getTarget());
+        request.setTrailingStop(entry.getTrailingStop());
+        request.setExitTime(entry.getExitTime());
+        request.setExit(entry.getExit());
+        request.setPnl(entry.getPnl());
+        request.setSetup(entry.getSetup());
+    }
+
+    @Benchmark
+    public JournalEntryResponse convertToResponse() {
+        return service.convertToResponse(entry);
+    }
+
+    @Benchmark
+    public JournalEntry convertToEntity() {
+        return service.convertToEntity(request);
+    }
+}
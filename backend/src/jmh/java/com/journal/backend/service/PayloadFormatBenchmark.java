@@ -0,0 +1,112 @@
+package com.journal.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.journal.backend.BenchmarkData;
+import com.journal.backend.config.PayloadFormatConfig;
+import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.json.JournalEntryResponseSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A user's listing in each encoding the API negotiates, built like the application's converters
+ * (streaming entry writer, ISO dates). {@code encode} is the server's cost per response,
+ * {@code decode} a Jackson client's, and {@code encodeGzip} adds the response compression. Payload
+ * sizes, raw and gzipped, are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<JournalEntryResponse>> LISTING = new TypeReference<>() {};
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<JournalEntryResponse> responses;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new JournalEntryResponseSerializer());
+        switch (format) {
+            case "smile":
+                builder.factory(PayloadFormatConfig.smileFactory());
+                break;
+            case "cbor":
+                builder.factory(new CBORFactory());
+                break;
+            default:
+                break;
+        }
+        objectMapper = builder.build();
+
+        JournalEntryService service = new JournalEntryService();
+        LocalDateTime now = LocalDateTime.now();
+        List<JournalEntry> entities = BenchmarkData.entries(1, rows);
+        long id = 1;
+        for (JournalEntry entry : entities) {
+            entry.setId(id++);
+            entry.setCreatedAt(now);
+            entry.setUpdatedAt(now);
+            entry.setVersion(0L);
+        }
+        responses = entities.stream().map(service::convertToResponse).collect(Collectors.toList());
+        payload = objectMapper.writeValueAsBytes(responses);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        System.out.printf("%n%s, %d rows: %d bytes, %d gzipped%n", format, rows, payload.length, compressed.size());
+    }
+
+    @Benchmark
+    public void encode() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public List<JournalEntryResponse> decode() throws IOException {
+        return objectMapper.readValue(payload, LISTING);
+    }
+
+    @Benchmark
+    public void encodeGzip() throws IOException {
+        try (OutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            objectMapper.writeValue(gzip, responses);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.journal.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.journal.backend.BenchmarkData;
+import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.json.JournalEntryArray;
+import com.journal.backend.json.JournalEntryJsonWriter;
+import com.journal.backend.json.JournalEntryResponseSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of a user's listing, configured like the application's ObjectMapper
+ * (ISO dates, not timestamps). Compares reflective bean serialization with the streaming
+ * {@link JournalEntryJsonWriter}; run with {@code -prof gc} and divide gc.alloc.rate.norm by
+ * {@code rows} for bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper writerObjectMapper;
+    private JournalEntryService service;
+    private List<JournalEntry> entities;
+    private List<JournalEntryResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writerObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new JournalEntryResponseSerializer())
+                .build();
+
+        service = new JournalEntryService();
+        LocalDateTime now = LocalDateTime.now();
+        entities = BenchmarkData.entries(1, rows);
+        long id = 1;
+        for (JournalEntry entry : entities) {
+            entry.setId(id++);
+            entry.setCreatedAt(now);
+            entry.setUpdatedAt(now);
+        }
+        responses = entities.stream().map(service::convertToResponse).collect(Collectors.toList());
+    }
+
+    // Cached listings: DTOs already exist
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void serializeListWithEntryWriter() throws IOException {
+        writerObjectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    // Uncached listings: from loaded entities to bytes
+
+    @Benchmark
+    public void convertAndSerializeEntities() throws IOException {
+        List<JournalEntryResponse> converted = entities.stream()
+                .map(service::convertToResponse)
+                .collect(Collectors.toList());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), converted);
+    }
+
+    @Benchmark
+    public void writeEntities() throws IOException {
+        writerObjectMapper.writeValue(OutputStream.nullOutputStream(), new JournalEntryArray(entities));
+    }
+}
@@ -0,0 +1,80 @@
+package com.journal.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters for one endpoint. Latencies are measured from the request's
+ * scheduled start, so time spent queued behind a slow server counts against it.
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private Histogram histogram;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        (success ? successes : errors).increment();
+    }
+
+    void freeze() {
+        histogram = recorder.getIntervalHistogram();
+    }
+
+    long total() {
+        return successes.sum() + errors.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    void print(PrintStream out, double seconds) {
+        long total = total();
+        out.printf("%n== %s ==%n", name);
+        out.printf("requests=%d throughput=%.1f/s errors=%d (%.2f%%)%n",
+                total, total / seconds, errors(), total == 0 ? 0.0 : 100.0 * errors() / total);
+        if (total == 0) {
+            return;
+        }
+        out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1e6);
+        histogram.outputPercentileDistribution(out, 5, 1e6);
+    }
+
+    Map<String, Object> summary(double seconds) {
+        long total = total();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", total);
+        summary.put("throughputPerSecond", total / seconds);
+        summary.put("errors", errors());
+        summary.put("errorRate", total == 0 ? 0.0 : (double) errors() / total);
+        if (total > 0) {
+            summary.put("p50Ms", millis(50));
+            summary.put("p90Ms", millis(90));
+            summary.put("p99Ms", millis(99));
+            summary.put("p999Ms", millis(99.9));
+            summary.put("maxMs", histogram.getMaxValue() / 1e6);
+        }
+        return summary;
+    }
+
+    private double millis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
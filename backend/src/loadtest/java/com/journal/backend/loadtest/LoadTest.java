@@ -0,0 +1,331 @@
+package com.journal.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the journal API.
+ *
+ * <p>Requests arrive as a Poisson process at the configured rate whether or not earlier requests
+ * have completed, so a slow server builds a queue instead of quietly slowing the generator down.
+ * Each latency is taken from the request's scheduled arrival time, not from when it was actually
+ * sent, which keeps the percentiles honest under overload.
+ *
+ * <p>Run with {@code ./gradlew loadTest} against an already running application; see the README
+ * for the available {@code -P} options.
+ */
+public final class LoadTest {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "NVDA", "TSLA", "AMZN", "SPY", "QQQ", "EURUSD"};
+    private static final String[] SETUPS = {"breakout", "pullback", "reversal", "gap fill", "range"};
+
+    enum Operation {
+        CREATE("POST /api/journal"),
+        UPDATE("PUT /api/journal/{id}"),
+        LIST("GET /api/journal/user/{userId}"),
+        STATS("GET /api/journal/user/{userId}/stats"),
+        LOGIN("POST /api/auth/login");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final List<Trader> traders = new ArrayList<>();
+    private final Semaphore inFlight;
+    private final LongAdder dropped = new LongAdder();
+    private volatile long measureFromNanos;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.requestTimeout)
+                .build();
+        this.inFlight = new Semaphore(config.maxInFlight);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.label));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("Load test: " + config);
+        new LoadTest(config).run(System.getProperty("loadtest.reportDir"));
+    }
+
+    private void run(String reportDir) throws Exception {
+        registerTraders();
+
+        long start = System.nanoTime();
+        measureFromNanos = start + config.warmup.toNanos();
+        long end = measureFromNanos + config.duration.toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.requestsPerSecond;
+
+        // Arrivals are scheduled on an absolute timeline; if the generator itself falls behind it
+        // fires the overdue requests immediately and their latency includes the delay.
+        long next = start;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(next, random);
+            next += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+        }
+
+        // Let the last arrivals finish so they are counted rather than silently lost
+        inFlight.tryAcquire(config.maxInFlight, config.requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        report(reportDir);
+    }
+
+    private void registerTraders() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String passwordHash = sha256("loadtest-" + runId);
+        List<CompletableFuture<HttpResponse<String>>> registrations = new ArrayList<>();
+        for (int i = 0; i < config.traders; i++) {
+            Trader trader = new Trader("trader-" + i + "-" + runId + "@loadtest.example", passwordHash);
+            traders.add(trader);
+            registrations.add(client.sendAsync(
+                    post("/api/auth/register", credentials(trader)), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < registrations.size(); i++) {
+            HttpResponse<String> response = registrations.get(i).join();
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Trader registration failed with HTTP " + response.statusCode());
+            }
+            rememberToken(traders.get(i), response.body());
+        }
+        System.out.println("Registered " + traders.size() + " traders");
+    }
+
+    private void fire(long intendedStart, ThreadLocalRandom random) {
+        Trader trader = traders.get(random.nextInt(traders.size()));
+        Operation operation = pickOperation(random.nextInt(100));
+        Long entryId = null;
+        if (operation == Operation.UPDATE) {
+            entryId = trader.randomEntry();
+            if (entryId == null) {
+                operation = Operation.CREATE;
+            }
+        }
+
+        if (!inFlight.tryAcquire()) {
+            dropped.increment();
+            record(operation, intendedStart, false);
+            return;
+        }
+
+        Operation op = operation;
+        client.sendAsync(request(op, trader, entryId, random), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    inFlight.release();
+                    boolean success = failure == null && response.statusCode() < 400;
+                    record(op, intendedStart, success);
+                    if (success && op == Operation.CREATE) {
+                        rememberCreated(trader, response.body());
+                    } else if (success && op == Operation.LOGIN) {
+                        rememberToken(trader, response.body());
+                    }
+                });
+    }
+
+    private Operation pickOperation(int roll) {
+        if ((roll -= config.createPercent) < 0) {
+            return Operation.CREATE;
+        }
+        if ((roll -= config.updatePercent) < 0) {
+            return Operation.UPDATE;
+        }
+        if ((roll -= config.listPercent) < 0) {
+            return Operation.LIST;
+        }
+        if (roll - config.statsPercent < 0) {
+            return Operation.STATS;
+        }
+        return Operation.LOGIN;
+    }
+
+    private HttpRequest request(Operation operation, Trader trader, Long entryId, ThreadLocalRandom random) {
+        switch (operation) {
+            case CREATE:
+                return authorized(json("/api/journal"), trader)
+                        .POST(HttpRequest.BodyPublishers.ofString(entry(trader, random, false)))
+                        .build();
+            case UPDATE:
+                return authorized(json("/api/journal/" + entryId), trader)
+                        .PUT(HttpRequest.BodyPublishers.ofString(entry(trader, random, true)))
+                        .build();
+            case LIST:
+                return authorized(HttpRequest.newBuilder(uri("/api/journal/user/" + trader.email)), trader)
+                        .timeout(config.requestTimeout)
+                        .GET()
+                        .build();
+            case STATS:
+                return authorized(HttpRequest.newBuilder(uri("/api/journal/user/" + trader.email + "/stats")), trader)
+                        .timeout(config.requestTimeout)
+                        .GET()
+                        .build();
+            default:
+                return post("/api/auth/login", credentials(trader));
+        }
+    }
+
+    private void record(Operation operation, long intendedStart, boolean success) {
+        if (intendedStart >= measureFromNanos) {
+            stats.get(operation).record(System.nanoTime() - intendedStart, success);
+        }
+    }
+
+    private void rememberCreated(Trader trader, String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("id");
+            if (id != null) {
+                trader.addEntry(id.asLong());
+            }
+        } catch (IOException ignored) {
+            // The request already counted as a success; it just can't be updated later
+        }
+    }
+
+    private void rememberToken(Trader trader, String body) {
+        try {
+            JsonNode token = mapper.readTree(body).get("token");
+            if (token != null) {
+                trader.token = token.asText();
+            }
+        } catch (IOException ignored) {
+            // Keep the previous token
+        }
+    }
+
+    private String entry(Trader trader, ThreadLocalRandom random, boolean closed) {
+        LocalDateTime entryTime = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 90));
+        double price = 50 + random.nextDouble(450);
+        double size = 1 + random.nextInt(100);
+        ObjectNode node = mapper.createObjectNode()
+                .put("userId", trader.email)
+                .put("entryTime", entryTime.toString())
+                .put("symbol", SYMBOLS[random.nextInt(SYMBOLS.length)])
+                .put("entry", price)
+                .put("stopLoss", price * 0.98)
+                .put("positionSize", size)
+                .put("setup", SETUPS[random.nextInt(SETUPS.length)]);
+        if (closed || random.nextBoolean()) {
+            double exit = price * (0.96 + random.nextDouble(0.08));
+            node.put("exitTime", entryTime.plusMinutes(5 + random.nextInt(600)).toString())
+                    .put("exit", exit)
+                    .put("pnl", (exit - price) * size);
+        }
+        return node.toString();
+    }
+
+    private String credentials(Trader trader) {
+        return mapper.createObjectNode()
+                .put("email", trader.email)
+                .put("passwordHash", trader.passwordHash)
+                .toString();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return json(path).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(config.requestTimeout)
+                .header("Content-Type", "application/json");
+    }
+
+    // Journal calls carry the trader's session token, as required by the prod profile
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, Trader trader) {
+        String token = trader.token;
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return config.baseUrl.resolve(path);
+    }
+
+    private void report(String reportDir) throws IOException {
+        double seconds = config.duration.toNanos() / 1e9;
+        PrintStream out = System.out;
+        long total = 0;
+        long errors = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.freeze();
+            total += endpoint.total();
+            errors += endpoint.errors();
+        }
+
+        out.printf("%n== Summary ==%n");
+        out.printf("requests=%d throughput=%.1f/s errors=%d (%.2f%%) dropped=%d%n", total, total / seconds,
+                errors, total == 0 ? 0.0 : 100.0 * errors / total, dropped.sum());
+        stats.values().forEach(endpoint -> endpoint.print(out, seconds));
+
+        if (reportDir != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", config.toString());
+            report.put("requests", total);
+            report.put("throughputPerSecond", total / seconds);
+            report.put("errors", errors);
+            report.put("dropped", dropped.sum());
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            stats.forEach((operation, endpoint) -> endpoints.put(operation.label, endpoint.summary(seconds)));
+            report.put("endpoints", endpoints);
+
+            Path dir = Files.createDirectories(Path.of(reportDir));
+            Path file = dir.resolve("loadtest-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+            mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+            out.println("\nReport written to " + file);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.journal.backend.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (set by the Gradle task).
+ */
+final class LoadTestConfig {
+
+    final URI baseUrl;
+    final int traders;
+    final double requestsPerSecond;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final Duration requestTimeout;
+
+    // Operation mix, in percent of arrivals
+    final int createPercent;
+    final int updatePercent;
+    final int listPercent;
+    final int statsPercent;
+    final int loginPercent;
+
+    private LoadTestConfig() {
+        baseUrl = URI.create(property("baseUrl", "http://localhost:8080"));
+        traders = Integer.parseInt(property("traders", "100"));
+        requestsPerSecond = Double.parseDouble(property("rate", "200"));
+        warmup = Duration.ofSeconds(Long.parseLong(property("warmupSeconds", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(property("durationSeconds", "60")));
+        maxInFlight = Integer.parseInt(property("maxInFlight", "5000"));
+        requestTimeout = Duration.ofSeconds(Long.parseLong(property("timeoutSeconds", "30")));
+        createPercent = Integer.parseInt(property("mix.create", "20"));
+        updatePercent = Integer.parseInt(property("mix.update", "10"));
+        listPercent = Integer.parseInt(property("mix.list", "35"));
+        statsPercent = Integer.parseInt(property("mix.stats", "25"));
+        loginPercent = Integer.parseInt(property("mix.login", "10"));
+        if (createPercent + updatePercent + listPercent + statsPercent + loginPercent != 100) {
+            throw new IllegalArgumentException("loadtest.mix.* must add up to 100");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("baseUrl=%s traders=%d rate=%.1f/s warmup=%ds duration=%ds mix(create/update/list/stats/login)"
+                        + "=%d/%d/%d/%d/%d",
+                baseUrl, traders, requestsPerSecond, warmup.toSeconds(), duration.toSeconds(),
+                createPercent, updatePercent, listPercent, statsPercent, loginPercent);
+    }
+}
@@ -0,0 +1,34 @@
+package com.journal.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated trader: a registered account, its current session token, and the ids of the
+ * entries it has created so far, which later updates pick from.
+ */
+final class Trader {
+
+    final String email;
+    final String passwordHash;
+    private final List<Long> entryIds = new ArrayList<>();
+    volatile String token;
+
+    Trader(String email, String passwordHash) {
+        this.email = email;
+        this.passwordHash = passwordHash;
+    }
+
+    synchronized void addEntry(long id) {
+        entryIds.add(id);
+    }
+
+    /** Returns a random entry this trader owns, or {@code null} if it has not created one yet. */
+    synchronized Long randomEntry() {
+        if (entryIds.isEmpty()) {
+            return null;
+        }
+        return entryIds.get(ThreadLocalRandom.current().nextInt(entryIds.size()));
+    }
+}
@@ -2,12 +2,18 @@ package com.journal.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JournalBackendApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(JournalBackendApplication.class, args);
+        SpringApplication application = new SpringApplication(JournalBackendApplication.class);
+        // Records each startup step for /actuator/startup and StartupTimeReporter
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 
 }
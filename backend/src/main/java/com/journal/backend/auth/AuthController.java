@@ -19,10 +19,13 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
     /**
      * Registers a new user
      * @param payload JSON containing email and passwordHash
-     * @return Response with userId if successful, error message if not
+     * @return Response with userId and session token if successful, error message if not
      */
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> payload) {
@@ -50,6 +53,7 @@ public class AuthController {
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "Registration successful");
                     response.put("userId", user.getEmail());
+                    response.put("token", sessionTokenService.issue(user.getEmail()));
                     logger.info("User registered successfully: {}", email);
                     return ResponseEntity.status(HttpStatus.CREATED).body(response);
                 })
@@ -63,7 +67,7 @@ public class AuthController {
     /**
      * Authenticates a user
      * @param payload JSON containing email and passwordHash
-     * @return Response with userId if successful, error message if not
+     * @return Response with userId and session token if successful, error message if not
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> payload) {
@@ -81,7 +85,8 @@ public class AuthController {
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "Login successful");
                     response.put("userId", user.getEmail());
-                    // In a real app, we'd generate and return a JWT token here
+                    // Send back as "Authorization: Bearer <token>" on /api/journal calls
+                    response.put("token", sessionTokenService.issue(user.getEmail()));
                     logger.info("User logged in successfully: {}", email);
                     return ResponseEntity.ok(response);
                 })
@@ -124,6 +129,7 @@ public class AuthController {
             // 1. Check if user exists with this Google ID
             // 2. If not, create a new user record
             // 3. Return user information
+            // No session token is issued: the Google ID is not verified server-side yet
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Google login recorded");
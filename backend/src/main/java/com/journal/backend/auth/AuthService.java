@@ -3,6 +3,7 @@ package com.journal.backend.auth;
 import com.journal.backend.entity.User;
 import com.journal.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,9 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailIndex emailIndex;
+
     /**
      * Registers a new user with email and password hash
      * @param email User's email
@@ -27,14 +31,23 @@ public class AuthService {
      */
     public Optional<User> register(String email, String passwordHash) {
         // Check if email already exists
-        if (userRepository.existsByEmail(email)) {
+        if (emailExists(email)) {
             logger.warn("Registration attempt with existing email: {}", email);
             return Optional.empty(); // Already registered
         }
         
+        // Index first, so concurrent check-email calls never see a definite miss for a stored user
+        emailIndex.add(email);
         // In a production environment, we should salt and hash the already-hashed password
         // But for simplicity in this example, we'll store it as received
-        User user = userRepository.save(new User(email, passwordHash));
+        User user;
+        try {
+            user = userRepository.save(new User(email, passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same email (uk_users_email)
+            logger.warn("Registration attempt with existing email: {}", email);
+            return Optional.empty();
+        }
         logger.info("New user registered: {}", email);
         
         return Optional.of(user);
@@ -59,11 +72,19 @@ public class AuthService {
     }
     
     /**
-     * Checks if an email already exists in the system
+     * Checks if an email already exists in the system. Only probable hits in the
+     * in-memory email index are confirmed against the database.
      * @param email The email to check
      * @return true if email exists, false otherwise
      */
     public boolean emailExists(String email) {
-        return userRepository.existsByEmail(email);
+        if (!emailIndex.mightContain(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            emailIndex.recordFalsePositive();
+        }
+        return exists;
     }
 }
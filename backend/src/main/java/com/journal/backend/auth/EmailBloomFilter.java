@@ -0,0 +1,110 @@
+package com.journal.backend.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Bits live in an {@link AtomicLongArray}, so concurrent
+ * {@link #put} and {@link #mightContain} calls need no locking. Never reports a false negative;
+ * false positives occur at roughly {@link #expectedFalsePositiveRate()}.
+ */
+public final class EmailBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param capacity          number of insertions the filter is sized for
+     * @param falsePositiveRate target rate once {@code capacity} items are in
+     */
+    public EmailBloomFilter(long capacity, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // another thread changed this word; retry
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isFull() {
+        return insertions.get() >= capacity;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /** Size of the bit array; object headers are negligible next to it. */
+    public long getMemoryBytes() {
+        return bitCount / 8;
+    }
+
+    /** (1 - e^(-kn/m))^k for the current number of insertions. */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.get() / bitCount), hashCount);
+    }
+
+    private long index(int combinedHash) {
+        // Kirsch-Mitzenmacher double hashing; flip negatives rather than losing a bit to abs()
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the MurmurHash3 64-bit finaliser to spread the bits
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ b) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
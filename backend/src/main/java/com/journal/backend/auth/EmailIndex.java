@@ -0,0 +1,167 @@
+package com.journal.backend.auth;
+
+import com.journal.backend.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of registered emails, so that "is this email taken?" only goes to the database
+ * when the answer is probably yes.
+ *
+ * <p>Built from the users table before the web server starts, and extended by every registration
+ * before its insert, so it never misses a registered email. Once the newest filter reaches its
+ * capacity, another one with twice the capacity and half the false-positive target is chained on
+ * (a scalable Bloom filter). The combined rate therefore stays below twice the configured target
+ * without ever rebuilding from the database. Users inserted behind the application's back (raw SQL)
+ * are not seen until restart.
+ */
+@Component
+public class EmailIndex implements SmartInitializingSingleton, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(EmailIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${journal.auth.email-index.initial-capacity:100000}")
+    private long initialCapacity;
+
+    @Value("${journal.auth.email-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final List<EmailBloomFilter> filters = new CopyOnWriteArrayList<>();
+    private volatile boolean ready;
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder probableHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        long userCount = userRepository.count();
+        filters.add(new EmailBloomFilter(Math.max(initialCapacity, userCount * 2), falsePositiveRate));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(this::add);
+            }
+        });
+        ready = true;
+        logger.info("Email index built from {} users in {} ms ({} bytes)",
+                userCount, (System.nanoTime() - start) / 1_000_000, getMemoryBytes());
+    }
+
+    /**
+     * Call before inserting the user, so a concurrent lookup can never miss it.
+     */
+    public void add(String email) {
+        EmailBloomFilter newest = filters.get(filters.size() - 1);
+        if (newest.isFull()) {
+            newest = grow(newest);
+        }
+        newest.put(email);
+    }
+
+    /**
+     * @return false only if the email is certainly not registered
+     */
+    public boolean mightContain(String email) {
+        if (!ready) {
+            return true;
+        }
+        for (EmailBloomFilter filter : filters) {
+            if (filter.mightContain(email)) {
+                probableHits.increment();
+                return true;
+            }
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * Records that a probable hit turned out not to be registered.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public long getMemoryBytes() {
+        return filters.stream().mapToLong(EmailBloomFilter::getMemoryBytes).sum();
+    }
+
+    /** Chance that an unregistered email is reported as a probable hit: 1 - product of (1 - p_i). */
+    public double expectedFalsePositiveRate() {
+        double allMiss = 1;
+        for (EmailBloomFilter filter : filters) {
+            allMiss *= 1 - filter.expectedFalsePositiveRate();
+        }
+        return 1 - allMiss;
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("emails", filters.stream().mapToLong(EmailBloomFilter::getInsertions).sum());
+        stats.put("filters", filters.size());
+        stats.put("memoryBytes", getMemoryBytes());
+        stats.put("expectedFalsePositiveRate", expectedFalsePositiveRate());
+        stats.put("definiteMisses", definiteMisses.sum());
+        stats.put("probableHits", probableHits.sum());
+        stats.put("falsePositives", falsePositives.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("journal.email.index.memory", this, EmailIndex::getMemoryBytes)
+                .baseUnit("bytes")
+                .description("Bit array size of the registered-email Bloom filters")
+                .register(registry);
+        Gauge.builder("journal.email.index.expected.fpp", this, EmailIndex::expectedFalsePositiveRate)
+                .description("Expected false-positive rate of the registered-email index")
+                .register(registry);
+        FunctionCounter.builder("journal.email.index.lookups", definiteMisses, LongAdder::sum)
+                .tag("result", "definite-miss")
+                .register(registry);
+        FunctionCounter.builder("journal.email.index.lookups", probableHits, LongAdder::sum)
+                .tag("result", "probable-hit")
+                .register(registry);
+        FunctionCounter.builder("journal.email.index.false.positives", falsePositives, LongAdder::sum)
+                .description("Probable hits the database then reported as unregistered")
+                .register(registry);
+    }
+
+    private synchronized EmailBloomFilter grow(EmailBloomFilter full) {
+        EmailBloomFilter newest = filters.get(filters.size() - 1);
+        if (newest != full) {
+            return newest;
+        }
+        int generation = filters.size();
+        EmailBloomFilter next = new EmailBloomFilter(full.getCapacity() * 2,
+                falsePositiveRate / (1 << generation));
+        filters.add(next);
+        logger.info("Email index reached {} emails; added filter #{}", full.getInsertions(), generation + 1);
+        return next;
+    }
+}
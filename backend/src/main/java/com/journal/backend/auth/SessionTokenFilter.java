@@ -0,0 +1,103 @@
+package com.journal.backend.auth;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Authenticates {@code Authorization: Bearer <token>} requests from the token alone. A request
+ * without the header passes through unauthenticated and SecurityConfig decides whether that is
+ * allowed. A bad or expired token is answered with 401, and a token used against another user's
+ * {@code /api/journal/user/{userId}/...} path with 403. Users listed in
+ * {@code journal.auth.admin-users} are also granted {@code ROLE_ADMIN}.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String USER_PATH_PREFIX = "/api/journal/user/";
+
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final SessionTokenService sessionTokenService;
+    private final Set<String> adminUsers;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this(sessionTokenService, Set.of());
+    }
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService, Set<String> adminUsers) {
+        this.sessionTokenService = sessionTokenService;
+        this.adminUsers = adminUsers;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<String> userId = sessionTokenService.verify(header.substring(BEARER.length()).trim());
+        if (userId.isEmpty()) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            reject(response, HttpStatus.UNAUTHORIZED, "Invalid or expired token");
+            return;
+        }
+        String pathUser = pathUserId(request);
+        if (pathUser != null && !pathUser.equals(userId.get())) {
+            reject(response, HttpStatus.FORBIDDEN, "Token does not belong to this user");
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId.get(), null,
+                        adminUsers.contains(userId.get()) ? ADMIN : Collections.emptyList()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Async dispatches (heavy listings, exports) must see the same principal as the original request
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    // The {userId} segment of /api/journal/user/{userId}/..., decoded; null for other paths.
+    // Parsed by hand because a path pattern match costs more than the HMAC check itself.
+    private String pathUserId(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (!path.startsWith(USER_PATH_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', USER_PATH_PREFIX.length());
+        return path.substring(USER_PATH_PREFIX.length(), end < 0 ? path.length() : end);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
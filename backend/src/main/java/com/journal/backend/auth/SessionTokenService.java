@@ -0,0 +1,110 @@
+package com.journal.backend.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies stateless session tokens of the form
+ * {@code base64url(userId).expiryEpochSeconds.base64url(HMAC-SHA256)}. Verification is pure CPU
+ * work against a key held in memory, so authenticating a request never touches the database.
+ */
+@Service
+public class SessionTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    // Mac is not thread-safe; one initialised instance per thread avoids re-keying per request
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @Autowired
+    public SessionTokenService(@Value("${journal.auth.token-secret:}") String secret,
+                               @Value("${journal.auth.token-ttl:12h}") Duration ttl) {
+        this(secretBytes(secret), ttl);
+    }
+
+    public SessionTokenService(byte[] secret, Duration ttl) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttl.getSeconds();
+    }
+
+    /**
+     * @return a token for {@code userId} valid for the configured TTL
+     */
+    public String issue(String userId) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = ENCODER.encodeToString(userId.getBytes(StandardCharsets.UTF_8)) + '.' + expiresAt;
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * @return the user the token was issued to, or empty if it is malformed, tampered with or expired
+     */
+    public Optional<String> verify(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = signatureStart > 0 ? token.lastIndexOf('.', signatureStart - 1) : -1;
+        if (expiryStart <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String payload = token.substring(0, signatureStart);
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(token.substring(expiryStart + 1, signatureStart));
+            if (expiresAt <= System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+            return Optional.of(new String(DECODER.decode(token.substring(0, expiryStart)), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            byte[] decoded = Base64.getDecoder().decode(secret.trim());
+            if (decoded.length < 32) {
+                throw new IllegalArgumentException("journal.auth.token-secret must be at least 32 bytes (base64)");
+            }
+            return decoded;
+        }
+        logger.warn("journal.auth.token-secret not set; using a random key, so tokens will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,44 @@
+package com.journal.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bounded pool for slow requests (full-history listings, exports, analytics, stats verification)
+ * so they cannot occupy every Tomcat thread. When the pool and its queue are full, submissions
+ * are rejected immediately and JournalEntryController answers 503 with Retry-After.
+ *
+ * <p>Keep the pool smaller than the JDBC connection pool, so quick requests can still get a
+ * connection while every heavy thread holds one. Utilisation and queue depth are exported as
+ * {@code executor.*} metrics tagged {@code name=heavyRequestExecutor}.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${journal.async.heavy.pool-size:6}")
+    private int poolSize;
+
+    @Value("${journal.async.heavy.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor heavyRequestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("heavy-");
+        // The default AbortPolicy throws on saturation, which is what turns into the 503
+        return executor;
+    }
+
+    // Streaming response bodies (exports) run on the same bounded pool
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(heavyRequestExecutor());
+    }
+}
@@ -0,0 +1,105 @@
+package com.journal.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Makes {@code server.compression.min-response-size} hold for message converter output. Tomcat
+ * only skips compressing a small body when it knows the length, but Spring flushes after every
+ * converter write, which commits the response as chunked. Flushes are held back until the body
+ * reaches the threshold, so a small response is still in Tomcat's buffer when it completes and goes
+ * out with a {@code Content-Length}. Larger and streamed bodies flush as before.
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new ThresholdResponse(response, minResponseSize.toBytes()));
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+        private final long threshold;
+        private long written;
+        private ServletOutputStream outputStream;
+
+        private ThresholdResponse(HttpServletResponse response, long threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (written >= threshold) {
+                super.flushBuffer();
+            }
+        }
+
+        private final class CountingOutputStream extends ServletOutputStream {
+            private final ServletOutputStream delegate;
+
+            private CountingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+                written += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (written >= threshold) {
+                    delegate.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.journal.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the same documents the JSON API returns, chosen with {@code Accept}:
+ * Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}). JSON stays the
+ * default. Both mappers come from Boot's builder, so they carry the application's Jackson settings
+ * and {@code @JsonComponent} serializers, and replace the bare converters Spring MVC would add.
+ *
+ * <p>Smile back-references repeated keys and short string values, so a listing spells out each
+ * property name, user id and symbol once. CBOR has no such references here, but still writes
+ * numbers in binary.
+ */
+@Configuration
+public class PayloadFormatConfig {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType CBOR = new MediaType("application", "cbor");
+
+    public static SmileFactory smileFactory() {
+        SmileFactory factory = new SmileFactory();
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        return factory;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
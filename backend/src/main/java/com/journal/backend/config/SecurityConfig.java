@@ -1,28 +1,86 @@
 package com.journal.backend.config;
 
+import com.journal.backend.auth.SessionTokenFilter;
+import com.journal.backend.auth.SessionTokenService;
+import com.journal.backend.controller.JournalEntryController;
+import com.journal.backend.ratelimit.RateLimitFilter;
+import com.journal.backend.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${journal.ratelimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    // When false, /api/journal still accepts anonymous calls (Google sign-in has no session token yet)
+    @Value("${journal.auth.required:false}")
+    private boolean authRequired;
+
+    // Session users allowed to run operational endpoints such as the stats repair
+    @Value("${journal.auth.admin-users:}")
+    private Set<String> adminUsers;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors().and()
             .csrf().disable()
-            .authorizeHttpRequests()
-            .anyRequest().permitAll(); // Allow ALL requests without authentication for troubleshooting
+            // No anonymous principal: controllers treat a null principal as "no session token"
+            .anonymous().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+            .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)).and()
+            .addFilterBefore(new SessionTokenFilter(sessionTokenService, adminUsers), UsernamePasswordAuthenticationFilter.class);
+
+        if (rateLimitEnabled) {
+            http.addFilterAfter(new RateLimitFilter(rateLimiter, meterRegistry), SessionTokenFilter.class);
+        }
+
+        if (authRequired) {
+            // Cache and email-index statistics are operational data. Actuator is moved to the
+            // management port in prod (see application-prod.properties).
+            http.authorizeHttpRequests()
+                .antMatchers("/api/journal/health", "/api/system/health").permitAll()
+                .antMatchers(HttpMethod.POST, "/api/journal/stats/verify").hasRole("ADMIN")
+                .antMatchers("/api/system/**").hasRole("ADMIN")
+                .antMatchers("/api/journal/**").authenticated()
+                .anyRequest().permitAll();
+        } else {
+            // Rewrites every user's stats, so never anonymous
+            http.authorizeHttpRequests()
+                .antMatchers(HttpMethod.POST, "/api/journal/stats/verify").hasRole("ADMIN")
+                .anyRequest().permitAll();
+        }
         
         return http.build();
     }
@@ -31,8 +89,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(JournalEntryController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,19 @@
+package com.journal.backend.config;
+
+import com.journal.backend.controller.UserVersionInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private UserVersionInterceptor userVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(userVersionInterceptor).addPathPatterns("/api/journal/user/**");
+    }
+}
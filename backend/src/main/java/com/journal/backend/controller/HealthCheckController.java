@@ -1,5 +1,8 @@
 package com.journal.backend.controller;
 
+import com.journal.backend.auth.EmailIndex;
+import com.journal.backend.service.JournalEntryCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +15,12 @@ import java.util.Map;
 @RequestMapping("/api/system")
 public class HealthCheckController {
 
+    @Autowired
+    private JournalEntryCache journalEntryCache;
+
+    @Autowired
+    private EmailIndex emailIndex;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
         Map<String, String> response = new HashMap<>();
@@ -19,4 +28,14 @@ public class HealthCheckController {
         response.put("message", "Journal API is running");
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Map<String, Object>>> cacheStatistics() {
+        return ResponseEntity.ok(journalEntryCache.statistics());
+    }
+
+    @GetMapping("/email-index")
+    public ResponseEntity<Map<String, Object>> emailIndexStatistics() {
+        return ResponseEntity.ok(emailIndex.statistics());
+    }
 }
@@ -1,43 +1,139 @@
 package com.journal.backend.controller;
 
+import com.journal.backend.dto.BatchCreateResponse;
+import com.journal.backend.dto.EntryChanges;
+import com.journal.backend.dto.EntryField;
+import com.journal.backend.dto.EntryPage;
+import com.journal.backend.dto.EquityCurve;
+import com.journal.backend.dto.JournalEntryPatch;
 import com.journal.backend.dto.JournalEntryRequest;
 import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.dto.StatsDriftReport;
+import com.journal.backend.dto.SymbolSummary;
+import com.journal.backend.dto.TradeAnalytics;
+import com.journal.backend.entity.UserStats;
+import com.journal.backend.json.JournalEntryArray;
+import com.journal.backend.service.BatchTooLargeException;
+import com.journal.backend.service.EquityCurveService;
+import com.journal.backend.service.JournalEntryExporter;
 import com.journal.backend.service.JournalEntryService;
+import com.journal.backend.service.TradeAnalyticsService;
+import com.journal.backend.service.UserStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/journal")
 @CrossOrigin(origins = "http://localhost:3000") // Allow React frontend
 public class JournalEntryController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
     @Autowired
     private JournalEntryService journalEntryService;
 
+    @Autowired
+    private JournalEntryExporter journalEntryExporter;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @Autowired
+    private EquityCurveService equityCurveService;
+
+    @Autowired
+    @Qualifier("heavyRequestExecutor")
+    private Executor heavyRequestExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${journal.async.heavy.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    /**
+     * Lists a user's entries, newest first. Passing {@code limit} or {@code cursor} switches to
+     * keyset pagination: the body holds one page and the {@value #NEXT_CURSOR_HEADER} header
+     * carries the token for the next one (absent on the last page). {@code fields} (e.g.
+     * {@code id,symbol,entryTime,pnl}) limits each entry to those properties; this applies to
+     * every {@code /user/...} listing. Unpaged listings run on the heavy request pool (see
+     * AsyncConfig) and get 503 with Retry-After while it is saturated.
+     */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<JournalEntryResponse>> getAllEntriesByUserId(@PathVariable String userId) {
-        List<JournalEntryResponse> entries = journalEntryService.getAllEntriesByUserId(userId);
-        return ResponseEntity.ok(entries);
+    public CompletableFuture<ResponseEntity<?>> getAllEntriesByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        boolean paged = cursor != null || limit != null;
+        Supplier<ResponseEntity<?>> listing = () -> {
+            try {
+                if (fields != null) {
+                    Set<EntryField> selected = EntryField.parse(fields);
+                    return paged
+                            ? pageResponse(journalEntryService.getEntryFieldsPageByUserId(userId, selected, cursor, limit))
+                            : ResponseEntity.ok(journalEntryService.getEntryFieldsByUserId(userId, selected));
+                }
+                if (!paged) {
+                    List<JournalEntryResponse> entries = journalEntryService.getAllEntriesByUserId(userId);
+                    return ResponseEntity.ok(entries);
+                }
+                return pageResponse(journalEntryService.getEntriesPageByUserId(userId, cursor, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        };
+        return paged ? CompletableFuture.completedFuture(listing.get()) : runHeavy(listing);
     }
 
+    /**
+     * Entries owned by someone other than the session user are reported as not found.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<JournalEntryResponse> getEntryById(@PathVariable Long id) {
-        Optional<JournalEntryResponse> entry = journalEntryService.getEntryById(id);
+    public ResponseEntity<JournalEntryResponse> getEntryById(@PathVariable Long id,
+                                                             @AuthenticationPrincipal String sessionUser) {
+        Optional<JournalEntryResponse> entry = journalEntryService.getEntryById(id)
+                .filter(found -> actingAs(found.getUserId(), sessionUser));
         return entry.map(ResponseEntity::ok)
                    .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<JournalEntryResponse> createEntry(@Valid @RequestBody JournalEntryRequest request) {
+    public ResponseEntity<JournalEntryResponse> createEntry(@Valid @RequestBody JournalEntryRequest request,
+                                                            @AuthenticationPrincipal String sessionUser) {
+        if (!actingAs(request.getUserId(), sessionUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         try {
             JournalEntryResponse createdEntry = journalEntryService.createEntry(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdEntry);
@@ -46,57 +142,358 @@ public class JournalEntryController {
         }
     }
 
+    /**
+     * Creates many entries in one request. Each item is validated individually and reported
+     * in the response, so one bad row does not reject the whole batch.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createEntries(@RequestBody List<JournalEntryRequest> requests,
+                                                             @AuthenticationPrincipal String sessionUser) {
+        // Null items are left to the service, which reports them as invalid
+        if (sessionUser != null && requests.stream()
+                .anyMatch(request -> request != null && !actingAs(request.getUserId(), sessionUser))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(journalEntryService.createEntries(requests));
+        } catch (BatchTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<JournalEntryResponse> updateEntry(@PathVariable Long id, 
-                                                           @Valid @RequestBody JournalEntryRequest request) {
+                                                           @Valid @RequestBody JournalEntryRequest request,
+                                                           @AuthenticationPrincipal String sessionUser) {
+        if (!ownedBy(id, sessionUser)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!actingAs(request.getUserId(), sessionUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         try {
             Optional<JournalEntryResponse> updatedEntry = journalEntryService.updateEntry(id, request);
             return updatedEntry.map(ResponseEntity::ok)
                               .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
+    /**
+     * Changes only the properties in the body, in one statement; closing a trade is
+     * {@code {"version":3,"exitTime":"...","exit":155.0,"pnl":450.0}}. A {@code version} other than
+     * the entry's current one gets 409 Conflict: re-read the entry and apply the change again.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<JournalEntryResponse> patchEntry(@PathVariable Long id,
+                                                          @RequestBody JournalEntryPatch patch,
+                                                          @AuthenticationPrincipal String sessionUser) {
+        try {
+            return journalEntryService.patchEntry(id, patch, sessionUser)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteEntry(@PathVariable Long id) {
-        boolean deleted = journalEntryService.deleteEntry(id);
+    public ResponseEntity<Void> deleteEntry(@PathVariable Long id, @AuthenticationPrincipal String sessionUser) {
+        boolean deleted = journalEntryService.deleteEntry(id, sessionUser);
         return deleted ? ResponseEntity.noContent().build() 
                        : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Deletes many entries by id. Ids that do not exist, or belong to another user, are skipped
+     * and not counted. Like the other bulk deletes, this needs a session token even when
+     * {@code journal.auth.required} is off; the token is what scopes the ids to one user.
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<Map<String, Integer>> deleteEntries(@RequestBody List<Long> ids,
+                                                              @AuthenticationPrincipal String sessionUser) {
+        if (sessionUser == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(Map.of("deleted", journalEntryService.deleteEntries(ids, sessionUser)));
+        } catch (BatchTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+    }
+
+    /**
+     * Deletes all of a user's entries in one symbol. Like the date-range delete, this needs the
+     * user's own session token even when {@code journal.auth.required} is off.
+     */
+    @DeleteMapping("/user/{userId}/symbol/{symbol}")
+    public ResponseEntity<Map<String, Integer>> deleteEntriesByUserIdAndSymbol(@PathVariable String userId,
+                                                                               @PathVariable String symbol,
+                                                                               @AuthenticationPrincipal String sessionUser) {
+        if (sessionUser == null || !actingAs(userId, sessionUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("deleted", journalEntryService.deleteEntriesByUserIdAndSymbol(userId, symbol)));
+    }
+
+    @DeleteMapping("/user/{userId}/date-range")
+    public ResponseEntity<Map<String, Integer>> deleteEntriesByUserIdAndDateRange(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @AuthenticationPrincipal String sessionUser) {
+        if (sessionUser == null || !actingAs(userId, sessionUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("deleted",
+                journalEntryService.deleteEntriesByUserIdAndDateRange(userId, startDate, endDate)));
+    }
+
     @GetMapping("/user/{userId}/symbol/{symbol}")
-    public ResponseEntity<List<JournalEntryResponse>> getEntriesByUserIdAndSymbol(
+    public CompletableFuture<ResponseEntity<?>> getEntriesByUserIdAndSymbol(
             @PathVariable String userId, 
-            @PathVariable String symbol) {
-        List<JournalEntryResponse> entries = journalEntryService.getEntriesByUserIdAndSymbol(userId, symbol);
-        return ResponseEntity.ok(entries);
+            @PathVariable String symbol,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        boolean paged = cursor != null || limit != null;
+        Supplier<ResponseEntity<?>> listing = () -> {
+            try {
+                if (fields != null) {
+                    Set<EntryField> selected = EntryField.parse(fields);
+                    return paged
+                            ? pageResponse(journalEntryService.getEntryFieldsPageByUserIdAndSymbol(
+                                    userId, symbol, selected, cursor, limit))
+                            : ResponseEntity.ok(journalEntryService.getEntryFieldsByUserIdAndSymbol(userId, symbol, selected));
+                }
+                if (!paged) {
+                    List<JournalEntryResponse> entries = journalEntryService.getEntriesByUserIdAndSymbol(userId, symbol);
+                    return ResponseEntity.ok(entries);
+                }
+                return pageResponse(journalEntryService.getEntriesPageByUserIdAndSymbol(userId, symbol, cursor, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        };
+        return paged ? CompletableFuture.completedFuture(listing.get()) : runHeavy(listing);
     }
 
     @GetMapping("/user/{userId}/date-range")
-    public ResponseEntity<List<JournalEntryResponse>> getEntriesByUserIdAndDateRange(
+    public CompletableFuture<ResponseEntity<?>> getEntriesByUserIdAndDateRange(
             @PathVariable String userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<JournalEntryResponse> entries = journalEntryService.getEntriesByUserIdAndDateRange(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        boolean paged = cursor != null || limit != null;
+        Supplier<ResponseEntity<?>> listing = () -> {
+            try {
+                if (fields != null) {
+                    Set<EntryField> selected = EntryField.parse(fields);
+                    return paged
+                            ? pageResponse(journalEntryService.getEntryFieldsPageByUserIdAndDateRange(
+                                    userId, startDate, endDate, selected, cursor, limit))
+                            : ResponseEntity.ok(journalEntryService.getEntryFieldsByUserIdAndDateRange(
+                                    userId, startDate, endDate, selected));
+                }
+                if (!paged) {
+                    JournalEntryArray entries = journalEntryService.getEntriesByUserIdAndDateRange(userId, startDate, endDate);
+                    return ResponseEntity.ok(entries);
+                }
+                return pageResponse(journalEntryService.getEntriesPageByUserIdAndDateRange(
+                        userId, startDate, endDate, cursor, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        };
+        return paged ? CompletableFuture.completedFuture(listing.get()) : runHeavy(listing);
+    }
+
+    /**
+     * Ranked search over setup notes: words are ANDed, {@code OR} joins alternatives and a
+     * trailing {@code *} matches a prefix, e.g. {@code q=breakout vwap OR ema*}. Always paged with
+     * {@code limit}/{@code cursor}, best match first.
+     */
+    @GetMapping("/user/{userId}/search")
+    public ResponseEntity<List<JournalEntryResponse>> searchEntries(
+            @PathVariable String userId,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return pageResponse(journalEntryService.searchEntries(userId, q, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Delta sync: what changed since the {@code since} cursor of an earlier response (omit it for
+     * everything). 410 Gone means the cursor is older than the deletion log; start over without it.
+     */
+    @GetMapping("/user/{userId}/sync")
+    public ResponseEntity<EntryChanges> getChanges(
+            @PathVariable String userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return journalEntryService.getChanges(userId, since, limit)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.GONE).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/user/{userId}/open")
+    public ResponseEntity<?> getOpenPositions(@PathVariable String userId,
+                                              @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(journalEntryService.getOpenPositionFieldsByUserId(
+                        userId, EntryField.parse(fields)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        }
+        JournalEntryArray entries = journalEntryService.getOpenPositionsByUserId(userId);
         return ResponseEntity.ok(entries);
     }
 
+    /**
+     * Streams a user's full history, oldest first, as NDJSON (default) or CSV.
+     */
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        JournalEntryExporter.Format exportFormat;
+        try {
+            exportFormat = JournalEntryExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        String filename = "journal-export." + exportFormat.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody body = out -> journalEntryExporter.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == JournalEntryExporter.Format.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/user/{userId}/stats")
     public ResponseEntity<Map<String, Object>> getUserStats(@PathVariable String userId) {
-        long entryCount = journalEntryService.getEntryCountByUserId(userId);
-        Double totalPnl = journalEntryService.getTotalPnlByUserId(userId);
+        UserStats userStats = journalEntryService.getUserStats(userId);
         
         Map<String, Object> stats = Map.of(
-            "entryCount", entryCount,
-            "totalPnl", totalPnl != null ? totalPnl : 0.0
+            "entryCount", userStats.getEntryCount(),
+            "totalPnl", userStats.getTotalPnl(),
+            "winCount", userStats.getWinCount(),
+            "lossCount", userStats.getLossCount(),
+            "grossProfit", userStats.getGrossProfit(),
+            "grossLoss", userStats.getGrossLoss()
         );
         
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/user/{userId}/analytics")
+    public CompletableFuture<ResponseEntity<TradeAnalytics>> getUserAnalytics(
+            @PathVariable String userId,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        if ((startDate == null) != (endDate == null)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+        return runHeavy(() -> ResponseEntity.ok(tradeAnalyticsService.getAnalytics(userId, symbol, startDate, endDate)));
+    }
+
+    /**
+     * Per-symbol entry count, net PnL, win rate and average holding time from one grouped query.
+     */
+    @GetMapping("/user/{userId}/symbols")
+    public CompletableFuture<ResponseEntity<List<SymbolSummary>>> getSymbolBreakdown(@PathVariable String userId) {
+        return runHeavy(() -> ResponseEntity.ok(tradeAnalyticsService.getSymbolBreakdown(userId)));
+    }
+
+    /**
+     * Cumulative closed-trade PnL per day, week or month with trade counts and running drawdown,
+     * read from the daily rollups rather than the entries, so it stays on the request thread.
+     */
+    @GetMapping("/user/{userId}/equity-curve")
+    public ResponseEntity<EquityCurve> getEquityCurve(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "day") String interval) {
+        EquityCurveService.Interval bucket;
+        try {
+            bucket = EquityCurveService.Interval.valueOf(interval.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if ((startDate == null) != (endDate == null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(equityCurveService.getEquityCurve(userId, startDate, endDate, bucket));
+    }
+
+    /**
+     * Recomputes every user's stats from scratch and reports rows that drifted from the running totals.
+     * Admin only (see SecurityConfig), since a repair rewrites every user's stats.
+     */
+    @PostMapping("/stats/verify")
+    public CompletableFuture<ResponseEntity<StatsDriftReport>> verifyStats(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        return runHeavy(() -> ResponseEntity.ok(userStatsService.verify(repair)));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
         return ResponseEntity.ok(Map.of("status", "UP", "service", "Journal Backend"));
     }
+
+    /**
+     * The heavy pool and its queue are full: fail fast rather than parking more request threads.
+     * Raised when a heavy endpoint or a streamed export cannot be scheduled.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> heavyPoolSaturated() {
+        meterRegistry.counter("journal.heavy.rejected").increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+
+    // Without a session token (journal.auth.required=false) requests are not tied to a user
+    private static boolean actingAs(String userId, String sessionUser) {
+        return sessionUser == null || sessionUser.equals(userId);
+    }
+
+    private boolean ownedBy(Long id, String sessionUser) {
+        return sessionUser == null || journalEntryService.getEntryById(id)
+                .map(entry -> sessionUser.equals(entry.getUserId()))
+                .orElse(false);
+    }
+
+    // Runs on the bounded heavy pool, freeing the Tomcat thread; throws RejectedExecutionException when full
+    private <T> CompletableFuture<T> runHeavy(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, heavyRequestExecutor);
+    }
+
+    private <T> ResponseEntity<List<T>> pageResponse(EntryPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getEntries());
+    }
 }
@@ -0,0 +1,91 @@
+package com.journal.backend.controller;
+
+import com.journal.backend.config.PayloadFormatConfig;
+import com.journal.backend.service.JournalEntryCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conditional GET for {@code /api/journal/user/{userId}/...}. Every response carries an ETag
+ * built from the user's version, which every write bumps on commit, and a matching
+ * {@code If-None-Match} is answered with 304 before the controller reads anything. The security
+ * filters have already checked that the caller may see this user.
+ */
+@Component
+public class UserVersionInterceptor implements HandlerInterceptor {
+
+    // Stored, but revalidated on every use: the version is the only thing that says it is fresh
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    @Autowired
+    private JournalEntryCache journalEntryCache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The tag was set on the original dispatch, before the data was read. Taking it again
+        // here could label that data with a newer version.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String userId = variables == null ? null : variables.get("userId");
+        if (userId == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Weak, because the bytes also depend on gzip; Tomcat will not compress a strong-tagged response
+        String etag = "W/\"" + journalEntryCache.getUserTag(userId) + representation(request) + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    /**
+     * Suffix naming the binary encoding the request will be answered in, so a JSON body held by
+     * the client never revalidates a Smile or CBOR request. Follows the converter order: the first
+     * acceptable type by quality wins, and anything else gets JSON.
+     */
+    private static String representation(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        try {
+            List<MediaType> acceptable = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(acceptable);
+            for (MediaType type : acceptable) {
+                if (PayloadFormatConfig.SMILE.equalsTypeAndSubtype(type)) {
+                    return "-smile";
+                }
+                if (PayloadFormatConfig.CBOR.equalsTypeAndSubtype(type)) {
+                    return "-cbor";
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Negotiation rejects the request later; the tag does not matter
+        }
+        return "";
+    }
+}
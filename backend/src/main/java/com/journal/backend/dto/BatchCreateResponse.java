@@ -0,0 +1,31 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+public class BatchCreateResponse {
+
+    private final int created;
+    private final int failed;
+    private final List<BatchItemResult> results;
+
+    public BatchCreateResponse(int created, int failed, List<BatchItemResult> results) {
+        this.created = created;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * One result per submitted item, in request order.
+     */
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,44 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+public class BatchItemResult {
+
+    public enum Status { CREATED, INVALID }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final List<String> errors;
+
+    private BatchItemResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static BatchItemResult invalid(int index, List<String> errors) {
+        return new BatchItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
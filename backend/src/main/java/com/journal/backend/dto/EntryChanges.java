@@ -0,0 +1,38 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+/**
+ * One delta-sync response: entries created or updated, ids of entries deleted, and the cursor to
+ * send next time. While {@code hasMore} is set, the client should ask again straight away.
+ */
+public class EntryChanges {
+
+    private final List<JournalEntryResponse> entries;
+    private final List<Long> deleted;
+    private final String cursor;
+    private final boolean hasMore;
+
+    public EntryChanges(List<JournalEntryResponse> entries, List<Long> deleted, String cursor, boolean hasMore) {
+        this.entries = entries;
+        this.deleted = deleted;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<JournalEntryResponse> getEntries() {
+        return entries;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
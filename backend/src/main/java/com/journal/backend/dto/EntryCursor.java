@@ -0,0 +1,53 @@
+package com.journal.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last entry returned in a keyset page. Clients only ever see the
+ * opaque, URL-safe token produced by {@link #encode()} and hand it back unchanged.
+ */
+public final class EntryCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime entryTime;
+    private final Long id;
+
+    public EntryCursor(LocalDateTime entryTime, Long id) {
+        this.entryTime = entryTime;
+        this.id = id;
+    }
+
+    public LocalDateTime getEntryTime() {
+        return entryTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = entryTime + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static EntryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new EntryCursor(LocalDateTime.parse(raw.substring(0, split)),
+                                   Long.valueOf(raw.substring(split + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
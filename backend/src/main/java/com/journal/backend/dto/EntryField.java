@@ -0,0 +1,66 @@
+package com.journal.backend.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Properties of {@link JournalEntryResponse} a client can ask for with {@code fields=}. Each name
+ * is both the JSON key and the {@code JournalEntry} attribute it is selected from.
+ */
+public enum EntryField {
+    ID("id"),
+    USER_ID("userId"),
+    ENTRY_TIME("entryTime"),
+    SYMBOL("symbol"),
+    ENTRY("entry"),
+    STOP_LOSS("stopLoss"),
+    POSITION_SIZE("positionSize"),
+    TARGET("target"),
+    TRAILING_STOP("trailingStop"),
+    EXIT_TIME("exitTime"),
+    EXIT("exit"),
+    PNL("pnl"),
+    SETUP("setup"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    private final String property;
+
+    EntryField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,symbol,entryTime,pnl}. The result iterates in
+     * declaration order, so responses keep the usual key order whatever order the client used.
+     *
+     * @throws IllegalArgumentException on an empty list or an unknown field name
+     */
+    public static Set<EntryField> parse(String fields) {
+        Set<EntryField> selected = EnumSet.noneOf(EntryField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromProperty(trimmed));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return selected;
+    }
+
+    private static EntryField fromProperty(String property) {
+        for (EntryField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + property);
+    }
+}
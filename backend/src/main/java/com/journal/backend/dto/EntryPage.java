@@ -0,0 +1,32 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a listing; {@code T} is a full entry, a sparse field map or an entry id.
+ */
+public class EntryPage<T> {
+
+    private final List<T> entries;
+    private final String nextCursor;
+
+    public EntryPage(List<T> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return token for the following page, or null when this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
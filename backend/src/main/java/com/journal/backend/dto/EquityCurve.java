@@ -0,0 +1,69 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+/**
+ * Cumulative closed-trade PnL over a period, one point per day, week or month that had trades.
+ * The curve starts at zero at the beginning of the requested range.
+ */
+public class EquityCurve {
+
+    private String interval;
+    private long tradeCount;
+    private double totalPnl;
+    private double maxDrawdown;
+    private List<EquityCurvePoint> points;
+
+    // Constructors
+    public EquityCurve() {}
+
+    public EquityCurve(String interval, long tradeCount, double totalPnl, double maxDrawdown,
+                       List<EquityCurvePoint> points) {
+        this.interval = interval;
+        this.tradeCount = tradeCount;
+        this.totalPnl = totalPnl;
+        this.maxDrawdown = maxDrawdown;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public String getInterval() {
+        return interval;
+    }
+
+    public void setInterval(String interval) {
+        this.interval = interval;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    public void setTradeCount(long tradeCount) {
+        this.tradeCount = tradeCount;
+    }
+
+    public double getTotalPnl() {
+        return totalPnl;
+    }
+
+    public void setTotalPnl(double totalPnl) {
+        this.totalPnl = totalPnl;
+    }
+
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public void setMaxDrawdown(double maxDrawdown) {
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    public List<EquityCurvePoint> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<EquityCurvePoint> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,64 @@
+package com.journal.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One bucket of an equity curve. {@code cumulativePnl} and {@code drawdown} are taken at the
+ * bucket's last trading day; {@code drawdown} is the distance below the running peak (0 at a new high).
+ */
+public class EquityCurvePoint {
+
+    private LocalDate periodStart;
+    private long tradeCount;
+    private double pnl;
+    private double cumulativePnl;
+    private double drawdown;
+
+    // Constructors
+    public EquityCurvePoint() {}
+
+    public EquityCurvePoint(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    public void setTradeCount(long tradeCount) {
+        this.tradeCount = tradeCount;
+    }
+
+    public double getPnl() {
+        return pnl;
+    }
+
+    public void setPnl(double pnl) {
+        this.pnl = pnl;
+    }
+
+    public double getCumulativePnl() {
+        return cumulativePnl;
+    }
+
+    public void setCumulativePnl(double cumulativePnl) {
+        this.cumulativePnl = cumulativePnl;
+    }
+
+    public double getDrawdown() {
+        return drawdown;
+    }
+
+    public void setDrawdown(double drawdown) {
+        this.drawdown = drawdown;
+    }
+}
@@ -0,0 +1,89 @@
+package com.journal.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Body of {@code PATCH /api/journal/{id}}. Only the properties present are changed, and an
+ * explicit null clears an optional one. {@code version} is the entry version the client last saw.
+ * The owner, id and timestamps cannot be patched, and unknown keys are rejected rather than ignored.
+ */
+public class JournalEntryPatch {
+
+    private Long version;
+    private final Map<EntryField, Object> changes = new EnumMap<>(EntryField.class);
+
+    // Constructors
+    public JournalEntryPatch() {}
+
+    // Getters and Setters
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return the patched properties and their new values, in {@link EntryField} order
+     */
+    @JsonIgnore
+    public Map<EntryField, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    public void setEntryTime(LocalDateTime entryTime) {
+        changes.put(EntryField.ENTRY_TIME, entryTime);
+    }
+
+    public void setSymbol(String symbol) {
+        changes.put(EntryField.SYMBOL, symbol);
+    }
+
+    public void setEntry(Double entry) {
+        changes.put(EntryField.ENTRY, entry);
+    }
+
+    public void setStopLoss(Double stopLoss) {
+        changes.put(EntryField.STOP_LOSS, stopLoss);
+    }
+
+    public void setPositionSize(Double positionSize) {
+        changes.put(EntryField.POSITION_SIZE, positionSize);
+    }
+
+    public void setTarget(Double target) {
+        changes.put(EntryField.TARGET, target);
+    }
+
+    public void setTrailingStop(Double trailingStop) {
+        changes.put(EntryField.TRAILING_STOP, trailingStop);
+    }
+
+    public void setExitTime(LocalDateTime exitTime) {
+        changes.put(EntryField.EXIT_TIME, exitTime);
+    }
+
+    public void setExit(Double exit) {
+        changes.put(EntryField.EXIT, exit);
+    }
+
+    public void setPnl(Double pnl) {
+        changes.put(EntryField.PNL, pnl);
+    }
+
+    public void setSetup(String setup) {
+        changes.put(EntryField.SETUP, setup);
+    }
+
+    @JsonAnySetter
+    public void rejectUnknown(String name, Object value) {
+        throw new IllegalArgumentException(name + " cannot be patched");
+    }
+}
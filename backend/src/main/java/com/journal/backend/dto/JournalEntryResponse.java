@@ -1,146 +1,131 @@
 package com.journal.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.journal.backend.json.JournalEntryView;
+
 import java.time.LocalDateTime;
 
-public class JournalEntryResponse {
-
-    private Long id;
-    private String userId;
-    private LocalDateTime entryTime;
-    private String symbol;
-    private Double entry;
-    private Double stopLoss;
-    private Double positionSize;
-    private Double target;
-    private Double trailingStop;
-    private LocalDateTime exitTime;
-    private Double exit;
-    private Double pnl;
-    private String setup;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+/**
+ * Immutable so instances can be cached and shared across request threads.
+ */
+public final class JournalEntryResponse implements JournalEntryView {
+
+    private final Long id;
+    private final String userId;
+    private final LocalDateTime entryTime;
+    private final String symbol;
+    private final Double entry;
+    private final Double stopLoss;
+    private final Double positionSize;
+    private final Double target;
+    private final Double trailingStop;
+    private final LocalDateTime exitTime;
+    private final Double exit;
+    private final Double pnl;
+    private final String setup;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
 
     // Constructors
-    public JournalEntryResponse() {}
+    @JsonCreator
+    public JournalEntryResponse(@JsonProperty("id") Long id,
+                                @JsonProperty("userId") String userId,
+                                @JsonProperty("entryTime") LocalDateTime entryTime,
+                                @JsonProperty("symbol") String symbol,
+                                @JsonProperty("entry") Double entry,
+                                @JsonProperty("stopLoss") Double stopLoss,
+                                @JsonProperty("positionSize") Double positionSize,
+                                @JsonProperty("target") Double target,
+                                @JsonProperty("trailingStop") Double trailingStop,
+                                @JsonProperty("exitTime") LocalDateTime exitTime,
+                                @JsonProperty("exit") Double exit,
+                                @JsonProperty("pnl") Double pnl,
+                                @JsonProperty("setup") String setup,
+                                @JsonProperty("createdAt") LocalDateTime createdAt,
+                                @JsonProperty("updatedAt") LocalDateTime updatedAt,
+                                @JsonProperty("version") Long version) {
+        this.id = id;
+        this.userId = userId;
+        this.entryTime = entryTime;
+        this.symbol = symbol;
+        this.entry = entry;
+        this.stopLoss = stopLoss;
+        this.positionSize = positionSize;
+        this.target = target;
+        this.trailingStop = trailingStop;
+        this.exitTime = exitTime;
+        this.exit = exit;
+        this.pnl = pnl;
+        this.setup = setup;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 
-    // Getters and Setters
+    // Getters
     public Long getId() {
         return id;
     }
 
-    public void setId(Long id) {
-        this.id = id;
-    }
-
     public String getUserId() {
         return userId;
     }
 
-    public void setUserId(String userId) {
-        this.userId = userId;
-    }
-
     public LocalDateTime getEntryTime() {
         return entryTime;
     }
 
-    public void setEntryTime(LocalDateTime entryTime) {
-        this.entryTime = entryTime;
-    }
-
     public String getSymbol() {
         return symbol;
     }
 
-    public void setSymbol(String symbol) {
-        this.symbol = symbol;
-    }
-
     public Double getEntry() {
         return entry;
     }
 
-    public void setEntry(Double entry) {
-        this.entry = entry;
-    }
-
     public Double getStopLoss() {
         return stopLoss;
     }
 
-    public void setStopLoss(Double stopLoss) {
-        this.stopLoss = stopLoss;
-    }
-
     public Double getPositionSize() {
         return positionSize;
     }
 
-    public void setPositionSize(Double positionSize) {
-        this.positionSize = positionSize;
-    }
-
     public Double getTarget() {
         return target;
     }
 
-    public void setTarget(Double target) {
-        this.target = target;
-    }
-
     public Double getTrailingStop() {
         return trailingStop;
     }
 
-    public void setTrailingStop(Double trailingStop) {
-        this.trailingStop = trailingStop;
-    }
-
     public LocalDateTime getExitTime() {
         return exitTime;
     }
 
-    public void setExitTime(LocalDateTime exitTime) {
-        this.exitTime = exitTime;
-    }
-
     public Double getExit() {
         return exit;
     }
 
-    public void setExit(Double exit) {
-        this.exit = exit;
-    }
-
     public Double getPnl() {
         return pnl;
     }
 
-    public void setPnl(Double pnl) {
-        this.pnl = pnl;
-    }
-
     public String getSetup() {
         return setup;
     }
 
-    public void setSetup(String setup) {
-        this.setup = setup;
-    }
-
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
-    }
-
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
 
-    public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+    public Long getVersion() {
+        return version;
     }
 }
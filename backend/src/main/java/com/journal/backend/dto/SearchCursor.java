@@ -0,0 +1,51 @@
+package com.journal.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hit returned in a page of ranked search results, which are ordered by
+ * score, then id, both descending. Opaque to clients, like {@link EntryCursor}.
+ */
+public final class SearchCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final double score;
+    private final long id;
+
+    public SearchCursor(double score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = Double.toString(score) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SearchCursor(Double.parseDouble(raw.substring(0, split)),
+                                    Long.parseLong(raw.substring(split + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
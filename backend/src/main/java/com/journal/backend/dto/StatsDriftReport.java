@@ -0,0 +1,28 @@
+package com.journal.backend.dto;
+
+import java.util.List;
+
+public class StatsDriftReport {
+
+    private final int usersChecked;
+    private final List<String> driftedUserIds;
+    private final boolean repaired;
+
+    public StatsDriftReport(int usersChecked, List<String> driftedUserIds, boolean repaired) {
+        this.usersChecked = usersChecked;
+        this.driftedUserIds = driftedUserIds;
+        this.repaired = repaired;
+    }
+
+    public int getUsersChecked() {
+        return usersChecked;
+    }
+
+    public List<String> getDriftedUserIds() {
+        return driftedUserIds;
+    }
+
+    public boolean isRepaired() {
+        return repaired;
+    }
+}
@@ -0,0 +1,77 @@
+package com.journal.backend.dto;
+
+/**
+ * One symbol's line in a user's per-symbol breakdown. Win rate covers closed trades (entries with
+ * a PnL), holding time covers entries with an exit time; each is null when there are none.
+ */
+public class SymbolSummary {
+
+    private String symbol;
+    private long entryCount;
+    private long closedCount;
+    private double netPnl;
+    private Double winRate;
+    private Double averageHoldingSeconds;
+
+    // Constructors
+    public SymbolSummary() {}
+
+    public SymbolSummary(String symbol, Long entryCount, Long closedCount, Long winCount,
+                         Double netPnl, Double averageHoldingSeconds) {
+        this.symbol = symbol;
+        this.entryCount = entryCount;
+        this.closedCount = closedCount;
+        this.netPnl = netPnl != null ? netPnl : 0.0;
+        this.winRate = closedCount > 0 ? (double) winCount / closedCount : null;
+        this.averageHoldingSeconds = averageHoldingSeconds;
+    }
+
+    // Getters and Setters
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getClosedCount() {
+        return closedCount;
+    }
+
+    public void setClosedCount(long closedCount) {
+        this.closedCount = closedCount;
+    }
+
+    public double getNetPnl() {
+        return netPnl;
+    }
+
+    public void setNetPnl(double netPnl) {
+        this.netPnl = netPnl;
+    }
+
+    public Double getWinRate() {
+        return winRate;
+    }
+
+    public void setWinRate(Double winRate) {
+        this.winRate = winRate;
+    }
+
+    public Double getAverageHoldingSeconds() {
+        return averageHoldingSeconds;
+    }
+
+    public void setAverageHoldingSeconds(Double averageHoldingSeconds) {
+        this.averageHoldingSeconds = averageHoldingSeconds;
+    }
+}
@@ -0,0 +1,66 @@
+package com.journal.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Delta-sync watermark: the last change and the last deletion a client has seen, each as a
+ * (time, entry id) keyset position. Opaque to clients, like {@link EntryCursor}.
+ */
+public final class SyncCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime updatedAt;
+    private final Long updatedId;
+    private final LocalDateTime deletedAt;
+    private final Long deletedId;
+
+    public SyncCursor(LocalDateTime updatedAt, Long updatedId, LocalDateTime deletedAt, Long deletedId) {
+        this.updatedAt = updatedAt;
+        this.updatedId = updatedId;
+        this.deletedAt = deletedAt;
+        this.deletedId = deletedId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getUpdatedId() {
+        return updatedId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public Long getDeletedId() {
+        return deletedId;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, updatedAt.toString(), updatedId.toString(),
+                deletedAt.toString(), deletedId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SyncCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed sync cursor");
+            }
+            return new SyncCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]),
+                                  LocalDateTime.parse(parts[2]), Long.valueOf(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed sync cursor", e);
+        }
+    }
+}
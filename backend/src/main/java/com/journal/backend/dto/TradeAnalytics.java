@@ -0,0 +1,146 @@
+package com.journal.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Performance figures over a user's closed trades (entries with a PnL).
+ * Ratios are null when their denominator is zero.
+ */
+public class TradeAnalytics {
+
+    private long tradeCount;
+    private long winCount;
+    private long lossCount;
+    private double totalPnl;
+    private Double winRate;
+    private Double expectancy;
+    private Double profitFactor;
+    private Double averageWin;
+    private Double averageLoss;
+    private double maxDrawdown;
+    private int longestLosingStreak;
+    private Double averageRMultiple;
+    private long rMultipleCount;
+
+    // Constructors
+    public TradeAnalytics() {}
+
+    // Getters and Setters
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    public void setTradeCount(long tradeCount) {
+        this.tradeCount = tradeCount;
+    }
+
+    public long getWinCount() {
+        return winCount;
+    }
+
+    public void setWinCount(long winCount) {
+        this.winCount = winCount;
+    }
+
+    public long getLossCount() {
+        return lossCount;
+    }
+
+    public void setLossCount(long lossCount) {
+        this.lossCount = lossCount;
+    }
+
+    public double getTotalPnl() {
+        return totalPnl;
+    }
+
+    public void setTotalPnl(double totalPnl) {
+        this.totalPnl = totalPnl;
+    }
+
+    public Double getWinRate() {
+        return winRate;
+    }
+
+    public void setWinRate(Double winRate) {
+        this.winRate = winRate;
+    }
+
+    public Double getExpectancy() {
+        return expectancy;
+    }
+
+    public void setExpectancy(Double expectancy) {
+        this.expectancy = expectancy;
+    }
+
+    public Double getProfitFactor() {
+        return profitFactor;
+    }
+
+    public void setProfitFactor(Double profitFactor) {
+        this.profitFactor = profitFactor;
+    }
+
+    public Double getAverageWin() {
+        return averageWin;
+    }
+
+    public void setAverageWin(Double averageWin) {
+        this.averageWin = averageWin;
+    }
+
+    /**
+     * @return mean losing PnL as a positive magnitude
+     */
+    public Double getAverageLoss() {
+        return averageLoss;
+    }
+
+    public void setAverageLoss(Double averageLoss) {
+        this.averageLoss = averageLoss;
+    }
+
+    /**
+     * @return largest peak-to-trough fall of cumulative PnL, as a positive amount
+     */
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public void setMaxDrawdown(double maxDrawdown) {
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    public int getLongestLosingStreak() {
+        return longestLosingStreak;
+    }
+
+    public void setLongestLosingStreak(int longestLosingStreak) {
+        this.longestLosingStreak = longestLosingStreak;
+    }
+
+    /**
+     * @return mean of (exit - entry) / (entry - stopLoss) over trades with a stop loss and exit price
+     */
+    public Double getAverageRMultiple() {
+        return averageRMultiple;
+    }
+
+    public void setAverageRMultiple(Double averageRMultiple) {
+        this.averageRMultiple = averageRMultiple;
+    }
+
+    /**
+     * @return how many trades the average R-multiple is taken over. Named explicitly, since the
+     * bean name Jackson derives from the getter would be {@code rmultipleCount}.
+     */
+    @JsonProperty("rMultipleCount")
+    public long getRMultipleCount() {
+        return rMultipleCount;
+    }
+
+    public void setRMultipleCount(long rMultipleCount) {
+        this.rMultipleCount = rMultipleCount;
+    }
+}
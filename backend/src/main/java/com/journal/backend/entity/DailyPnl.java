@@ -0,0 +1,98 @@
+package com.journal.backend.entity;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One user's closed-trade count and PnL for one day (by entry date). Maintained incrementally
+ * alongside {@link UserStats} so equity curves read a row per day instead of every trade.
+ */
+@Entity
+@Table(name = "daily_pnl")
+@IdClass(DailyPnl.Key.class)
+public class DailyPnl {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "trade_date")
+    private LocalDate tradeDate;
+
+    @Column(name = "trade_count", nullable = false)
+    private long tradeCount;
+
+    @Column(name = "pnl", nullable = false)
+    private double pnl;
+
+    // Constructors
+    public DailyPnl() {}
+
+    public DailyPnl(String userId, LocalDate tradeDate, long tradeCount, double pnl) {
+        this.userId = userId;
+        this.tradeDate = tradeDate;
+        this.tradeCount = tradeCount;
+        this.pnl = pnl;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getTradeDate() {
+        return tradeDate;
+    }
+
+    public void setTradeDate(LocalDate tradeDate) {
+        this.tradeDate = tradeDate;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    public void setTradeCount(long tradeCount) {
+        this.tradeCount = tradeCount;
+    }
+
+    public double getPnl() {
+        return pnl;
+    }
+
+    public void setPnl(double pnl) {
+        this.pnl = pnl;
+    }
+
+    public static class Key implements Serializable {
+        private String userId;
+        private LocalDate tradeDate;
+
+        public Key() {}
+
+        public Key(String userId, LocalDate tradeDate) {
+            this.userId = userId;
+            this.tradeDate = tradeDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(tradeDate, key.tradeDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, tradeDate);
+        }
+    }
+}
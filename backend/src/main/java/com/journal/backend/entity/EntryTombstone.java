@@ -0,0 +1,87 @@
+package com.journal.backend.entity;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Records that entry {@code entryId} left user {@code userId}'s journal at {@code deletedAt}, by
+ * being deleted or moved to another user, so delta syncs can tell clients to drop it.
+ */
+@Entity
+@Table(name = "entry_tombstones", indexes = @Index(name = "idx_entry_tombstones_user_deleted",
+        columnList = "user_id, deleted_at, entry_id"))
+@IdClass(EntryTombstone.Key.class)
+public class EntryTombstone {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public EntryTombstone() {}
+
+    public EntryTombstone(String userId, Long entryId, LocalDateTime deletedAt) {
+        this.userId = userId;
+        this.entryId = entryId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public static class Key implements Serializable {
+        private String userId;
+        private Long entryId;
+
+        public Key() {}
+
+        public Key(String userId, Long entryId) {
+            this.userId = userId;
+            this.entryId = entryId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(entryId, key.entryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, entryId);
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.journal.backend.entity;
 
+import com.journal.backend.json.JournalEntryView;
+import com.journal.backend.symbol.SymbolConverter;
+import com.journal.backend.symbol.SymbolInterningListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "journal_entries")
-public class JournalEntry {
-
+@Table(name = "journal_entries", indexes = {
+        @Index(name = "idx_journal_user_time", columnList = "user_id, entry_time"),
+        @Index(name = "idx_journal_user_symbol_time", columnList = "user_id, symbol_id, entry_time"),
+        @Index(name = "idx_journal_user_open", columnList = "user_id, exit_time, entry_time"),
+        @Index(name = "idx_journal_user_updated", columnList = "user_id, updated_at")
+})
+@EntityListeners(SymbolInterningListener.class)
+public class JournalEntry implements JournalEntryView {
+
+    // Pooled sequence rather than IDENTITY so Hibernate can batch INSERTs: ids are
+    // handed out from memory in blocks of allocationSize without a round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_seq")
+    @SequenceGenerator(name = "journal_entry_seq", sequenceName = "journal_entry_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "User ID is required")
@@ -21,8 +34,10 @@ public class JournalEntry {
     @Column(name = "entry_time", nullable = false)
     private LocalDateTime entryTime;
 
+    // Stored as a key into the symbols dictionary; see SymbolDictionary
     @NotBlank(message = "Symbol is required")
-    @Column(name = "symbol", nullable = false)
+    @Convert(converter = SymbolConverter.class)
+    @Column(name = "symbol_id", nullable = false)
     private String symbol;
 
     @NotNull(message = "Entry price is required")
@@ -60,6 +75,10 @@ public class JournalEntry {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public JournalEntry() {}
 
@@ -204,4 +223,12 @@ public class JournalEntry {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
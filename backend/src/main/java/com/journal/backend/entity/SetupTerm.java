@@ -0,0 +1,104 @@
+package com.journal.backend.entity;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One posting of the inverted index over {@link JournalEntry#getSetup()}: entry {@code entryId}
+ * of user {@code userId} mentions {@code term} {@code termFrequency} times.
+ */
+@Entity
+@Table(name = "setup_terms", indexes = {
+        @Index(name = "idx_setup_terms_postings", columnList = "user_id, term, entry_id, term_frequency"),
+        @Index(name = "idx_setup_terms_entry", columnList = "entry_id")
+})
+@IdClass(SetupTerm.Key.class)
+public class SetupTerm {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "term", length = 64)
+    private String term;
+
+    @Id
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "term_frequency", nullable = false)
+    private int termFrequency;
+
+    // Constructors
+    public SetupTerm() {}
+
+    public SetupTerm(String userId, String term, Long entryId, int termFrequency) {
+        this.userId = userId;
+        this.term = term;
+        this.entryId = entryId;
+        this.termFrequency = termFrequency;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public int getTermFrequency() {
+        return termFrequency;
+    }
+
+    public void setTermFrequency(int termFrequency) {
+        this.termFrequency = termFrequency;
+    }
+
+    public static class Key implements Serializable {
+        private String userId;
+        private String term;
+        private Long entryId;
+
+        public Key() {}
+
+        public Key(String userId, String term, Long entryId) {
+            this.userId = userId;
+            this.term = term;
+            this.entryId = entryId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(term, key.term)
+                    && Objects.equals(entryId, key.entryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, term, entryId);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.journal.backend.entity;
+
+import javax.persistence.*;
+
+/**
+ * Dictionary row behind {@link JournalEntry#getSymbol()}. Written and cached by
+ * {@link com.journal.backend.symbol.SymbolDictionary}; mapped here so the schema is validated.
+ */
+@Entity
+@Table(name = "symbols")
+public class Symbol {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "name", nullable = false, unique = true)
+    private String name;
+
+    // Constructors
+    public Symbol() {}
+
+    public Symbol(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
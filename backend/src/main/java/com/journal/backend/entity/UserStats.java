@@ -0,0 +1,110 @@
+package com.journal.backend.entity;
+
+import javax.persistence.*;
+
+/**
+ * Running totals over a user's journal entries, kept in step with every write so
+ * reading stats is a primary-key lookup instead of an aggregate over all rows.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "total_pnl", nullable = false)
+    private double totalPnl;
+
+    @Column(name = "win_count", nullable = false)
+    private long winCount;
+
+    @Column(name = "loss_count", nullable = false)
+    private long lossCount;
+
+    @Column(name = "gross_profit", nullable = false)
+    private double grossProfit;
+
+    // Stored as a positive magnitude
+    @Column(name = "gross_loss", nullable = false)
+    private double grossLoss;
+
+    // Constructors
+    public UserStats() {}
+
+    public UserStats(String userId) {
+        this.userId = userId;
+    }
+
+    public UserStats(String userId, Long entryCount, Double totalPnl, Long winCount, Long lossCount,
+                     Double grossProfit, Double grossLoss) {
+        this.userId = userId;
+        this.entryCount = entryCount != null ? entryCount : 0L;
+        this.totalPnl = totalPnl != null ? totalPnl : 0.0;
+        this.winCount = winCount != null ? winCount : 0L;
+        this.lossCount = lossCount != null ? lossCount : 0L;
+        this.grossProfit = grossProfit != null ? grossProfit : 0.0;
+        this.grossLoss = grossLoss != null ? grossLoss : 0.0;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public double getTotalPnl() {
+        return totalPnl;
+    }
+
+    public void setTotalPnl(double totalPnl) {
+        this.totalPnl = totalPnl;
+    }
+
+    public long getWinCount() {
+        return winCount;
+    }
+
+    public void setWinCount(long winCount) {
+        this.winCount = winCount;
+    }
+
+    public long getLossCount() {
+        return lossCount;
+    }
+
+    public void setLossCount(long lossCount) {
+        this.lossCount = lossCount;
+    }
+
+    public double getGrossProfit() {
+        return grossProfit;
+    }
+
+    public void setGrossProfit(double grossProfit) {
+        this.grossProfit = grossProfit;
+    }
+
+    public double getGrossLoss() {
+        return grossLoss;
+    }
+
+    public void setGrossLoss(double grossLoss) {
+        this.grossLoss = grossLoss;
+    }
+}
@@ -0,0 +1,67 @@
+package com.journal.backend.json;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a {@link LocalDateTime} into a caller-supplied buffer exactly as
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} would (the format Jackson uses for
+ * {@code LocalDateTime} when dates are not written as timestamps), without allocating.
+ * Seconds are always present; the fraction is omitted when zero and otherwise printed
+ * without trailing zeros.
+ */
+public final class IsoDateTimeFormat {
+
+    /** Enough for any year the formatter accepts, e.g. {@code +999999999-12-31T23:59:59.999999999}. */
+    public static final int MAX_LENGTH = 35;
+
+    private IsoDateTimeFormat() {
+    }
+
+    /**
+     * @return the number of characters written to {@code buffer}
+     */
+    public static int format(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and wide years are rare enough to leave to the JDK formatter
+            String text = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+            text.getChars(0, text.length(), buffer, 0);
+            return text.length();
+        }
+
+        int pos = 0;
+        pos = digits(year, 4, buffer, pos);
+        buffer[pos++] = '-';
+        pos = digits(value.getMonthValue(), 2, buffer, pos);
+        buffer[pos++] = '-';
+        pos = digits(value.getDayOfMonth(), 2, buffer, pos);
+        buffer[pos++] = 'T';
+        pos = digits(value.getHour(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = digits(value.getMinute(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = digits(value.getSecond(), 2, buffer, pos);
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[pos++] = '.';
+            pos = digits(nano, width, buffer, pos);
+        }
+        return pos;
+    }
+
+    // Zero-padded to exactly width digits; value must fit
+    private static int digits(int value, int width, char[] buffer, int pos) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
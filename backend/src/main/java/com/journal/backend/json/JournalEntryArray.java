@@ -0,0 +1,42 @@
+package com.journal.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.journal.backend.entity.JournalEntry;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response body that renders entities as the same JSON array a {@code List<JournalEntryResponse>}
+ * would produce, without building the intermediate DTOs.
+ */
+public final class JournalEntryArray extends JsonSerializable.Base {
+
+    private final List<JournalEntry> entries;
+
+    public JournalEntryArray(List<JournalEntry> entries) {
+        this.entries = entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(entries, entries.size());
+        for (JournalEntry entry : entries) {
+            JournalEntryJsonWriter.writeEntry(gen, entry);
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, provider);
+    }
+}
@@ -0,0 +1,104 @@
+package com.journal.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.journal.backend.dto.JournalEntryResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-rolled streaming writer for the journal entry JSON object. Field names are encoded once,
+ * dates go through {@link IsoDateTimeFormat} into a per-thread buffer, and entities can be written
+ * directly without building a {@link JournalEntryResponse} first: both are read through
+ * {@link JournalEntryView}, so they share the one field list below.
+ *
+ * <p>The output must stay byte-for-byte what Jackson produces for {@link JournalEntryResponse}
+ * with the application's settings: same keys, same order, nulls included, ISO dates.
+ * JournalEntryJsonWriterTests holds it to that.
+ */
+public final class JournalEntryJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString ENTRY_TIME = new SerializedString("entryTime");
+    private static final SerializableString SYMBOL = new SerializedString("symbol");
+    private static final SerializableString ENTRY = new SerializedString("entry");
+    private static final SerializableString STOP_LOSS = new SerializedString("stopLoss");
+    private static final SerializableString POSITION_SIZE = new SerializedString("positionSize");
+    private static final SerializableString TARGET = new SerializedString("target");
+    private static final SerializableString TRAILING_STOP = new SerializedString("trailingStop");
+    private static final SerializableString EXIT_TIME = new SerializedString("exitTime");
+    private static final SerializableString EXIT = new SerializedString("exit");
+    private static final SerializableString PNL = new SerializedString("pnl");
+    private static final SerializableString SETUP = new SerializedString("setup");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final ThreadLocal<char[]> DATE_BUFFER =
+            ThreadLocal.withInitial(() -> new char[IsoDateTimeFormat.MAX_LENGTH]);
+
+    private JournalEntryJsonWriter() {
+    }
+
+    public static void writeEntry(JsonGenerator gen, JournalEntryView entry) throws IOException {
+        gen.writeStartObject();
+        writeLong(gen, ID, entry.getId());
+        writeString(gen, USER_ID, entry.getUserId());
+        writeDateTime(gen, ENTRY_TIME, entry.getEntryTime());
+        writeString(gen, SYMBOL, entry.getSymbol());
+        writeDouble(gen, ENTRY, entry.getEntry());
+        writeDouble(gen, STOP_LOSS, entry.getStopLoss());
+        writeDouble(gen, POSITION_SIZE, entry.getPositionSize());
+        writeDouble(gen, TARGET, entry.getTarget());
+        writeDouble(gen, TRAILING_STOP, entry.getTrailingStop());
+        writeDateTime(gen, EXIT_TIME, entry.getExitTime());
+        writeDouble(gen, EXIT, entry.getExit());
+        writeDouble(gen, PNL, entry.getPnl());
+        writeString(gen, SETUP, entry.getSetup());
+        writeDateTime(gen, CREATED_AT, entry.getCreatedAt());
+        writeDateTime(gen, UPDATED_AT, entry.getUpdatedAt());
+        writeLong(gen, VERSION, entry.getVersion());
+        gen.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeDouble(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            gen.writeString(buffer, 0, IsoDateTimeFormat.format(value, buffer));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.journal.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.journal.backend.dto.JournalEntryResponse;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Routes every {@link JournalEntryResponse} the application's ObjectMapper writes (single entries,
+ * cached listings, pages, exports) through {@link JournalEntryJsonWriter}.
+ */
+@JsonComponent
+public class JournalEntryResponseSerializer extends StdSerializer<JournalEntryResponse> {
+
+    public JournalEntryResponseSerializer() {
+        super(JournalEntryResponse.class);
+    }
+
+    @Override
+    public void serialize(JournalEntryResponse value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        JournalEntryJsonWriter.writeEntry(gen, value);
+    }
+}
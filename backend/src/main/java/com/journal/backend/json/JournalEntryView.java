@@ -0,0 +1,42 @@
+package com.journal.backend.json;
+
+import java.time.LocalDateTime;
+
+/**
+ * The properties of a journal entry as the API shows them, implemented by both the entity and the
+ * response DTO so {@link JournalEntryJsonWriter} keeps a single field list for the two.
+ */
+public interface JournalEntryView {
+
+    Long getId();
+
+    String getUserId();
+
+    LocalDateTime getEntryTime();
+
+    String getSymbol();
+
+    Double getEntry();
+
+    Double getStopLoss();
+
+    Double getPositionSize();
+
+    Double getTarget();
+
+    Double getTrailingStop();
+
+    LocalDateTime getExitTime();
+
+    Double getExit();
+
+    Double getPnl();
+
+    String getSetup();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+}
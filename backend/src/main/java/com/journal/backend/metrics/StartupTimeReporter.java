@@ -0,0 +1,66 @@
+package com.journal.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes {@code journal.startup.jvm.time}, the time from JVM launch to ready. Unlike Boot's
+ * {@code application.ready.time} it includes class loading before {@code main}. Also logs the
+ * slowest bean initialisations so a startup regression points at its cause.
+ */
+@Component
+public class StartupTimeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeReporter.class);
+
+    private static final int SLOWEST_BEANS = 5;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("journal.startup.jvm.time", () -> uptimeMillis, TimeUnit.MILLISECONDS)
+                .description("Time from JVM launch until the application was ready")
+                .register(meterRegistry);
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            log.info("Ready {} ms after JVM launch", uptimeMillis);
+            return;
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).getBufferedTimeline();
+        String slowest = timeline.getEvents().stream()
+                .filter(step -> "spring.beans.instantiate".equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .map(step -> beanName(step) + "=" + step.getDuration().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+        log.info("Ready {} ms after JVM launch; slowest beans (inclusive): {}", uptimeMillis, slowest);
+    }
+
+    private static String beanName(StartupTimeline.TimelineEvent step) {
+        for (StartupStep.Tag tag : step.getStartupStep().getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
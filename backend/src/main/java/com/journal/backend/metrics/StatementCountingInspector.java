@@ -0,0 +1,27 @@
+package com.journal.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread so
+ * {@link RequestStatementMetricsFilter} can report statements per request.
+ * Registered through {@code hibernate.session_factory.statement_inspector}.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    static int current() {
+        return COUNTER.get()[0];
+    }
+}
@@ -0,0 +1,75 @@
+package com.journal.backend.ratelimit;
+
+import com.journal.backend.ratelimit.RateLimiter.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers 429 with Retry-After once a caller exhausts its bucket. {@code /api/auth/**} counts as
+ * AUTH, reads under {@code /api/journal/**} as READ and every other method there as WRITE; other
+ * paths (health, actuator, console) are not limited. Runs after SessionTokenFilter so
+ * authenticated calls are limited per user as well as per IP.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        if (endpointClass != null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String userId = authentication != null && authentication.getPrincipal() instanceof String
+                    ? (String) authentication.getPrincipal() : null;
+            long waitNanos = rateLimiter.acquire(endpointClass, userId, request.getRemoteAddr());
+            if (waitNanos > 0) {
+                meterRegistry.counter("journal.ratelimit.rejected",
+                        "class", endpointClass.name().toLowerCase(Locale.ROOT)).increment();
+                long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Too many requests\"}");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (path.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (!path.startsWith("/api/journal/") && !path.equals("/api/journal")) {
+            return null;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+}
@@ -0,0 +1,141 @@
+package com.journal.backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user and per-client-IP token buckets, one set per {@link EndpointClass}.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the GCRA
+ * form of a token bucket): refill is implicit in the clock, so acquiring is one CAS with no lock
+ * and no background refill task. Buckets sit in Caffeine caches that drop them once idle for
+ * longer than a full refill takes, at which point a fresh bucket is indistinguishable from the
+ * evicted one.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    /** Which limits a request is counted against; see RateLimitFilter for the mapping. */
+    public enum EndpointClass {
+        READ(20, 40, 100, 200),
+        WRITE(10, 50, 50, 200),
+        AUTH(2, 10, 2, 10);
+
+        private final double userPerSecond;
+        private final int userBurst;
+        private final double ipPerSecond;
+        private final int ipBurst;
+
+        EndpointClass(double userPerSecond, int userBurst, double ipPerSecond, int ipBurst) {
+            this.userPerSecond = userPerSecond;
+            this.userBurst = userBurst;
+            this.ipPerSecond = ipPerSecond;
+            this.ipBurst = ipBurst;
+        }
+
+        String propertyPrefix() {
+            return "journal.ratelimit." + name().toLowerCase(Locale.ROOT) + ".";
+        }
+    }
+
+    private final Map<EndpointClass, Buckets> userBuckets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Buckets> ipBuckets = new EnumMap<>(EndpointClass.class);
+
+    /**
+     * Reads {@code journal.ratelimit.<read|write|auth>.<user|ip>-per-second} and
+     * {@code ...<user|ip>-burst}, falling back to the {@link EndpointClass} defaults.
+     */
+    public RateLimiter(Environment environment) {
+        Duration idleTimeout = environment.getProperty("journal.ratelimit.idle-timeout", Duration.class,
+                Duration.ofMinutes(10));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = endpointClass.propertyPrefix();
+            userBuckets.put(endpointClass, new Buckets(
+                    environment.getProperty(prefix + "user-per-second", Double.class, endpointClass.userPerSecond),
+                    environment.getProperty(prefix + "user-burst", Integer.class, endpointClass.userBurst),
+                    idleTimeout));
+            ipBuckets.put(endpointClass, new Buckets(
+                    environment.getProperty(prefix + "ip-per-second", Double.class, endpointClass.ipPerSecond),
+                    environment.getProperty(prefix + "ip-burst", Integer.class, endpointClass.ipBurst),
+                    idleTimeout));
+        }
+    }
+
+    /**
+     * Takes one token from the caller's IP bucket and, when authenticated, from their user bucket.
+     *
+     * @param userId null for anonymous requests
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it would be allowed
+     */
+    public long acquire(EndpointClass endpointClass, String userId, String clientIp) {
+        return acquire(endpointClass, userId, clientIp, System.nanoTime());
+    }
+
+    long acquire(EndpointClass endpointClass, String userId, String clientIp, long now) {
+        if (userId != null) {
+            long wait = userBuckets.get(endpointClass).tryAcquire(userId, now);
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        return ipBuckets.get(endpointClass).tryAcquire(clientIp, now);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("journal.ratelimit.buckets", userBuckets.get(endpointClass).buckets, Cache::estimatedSize)
+                    .description("Live rate-limit buckets")
+                    .tags("class", tag, "scope", "user")
+                    .register(registry);
+            Gauge.builder("journal.ratelimit.buckets", ipBuckets.get(endpointClass).buckets, Cache::estimatedSize)
+                    .description("Live rate-limit buckets")
+                    .tags("class", tag, "scope", "ip")
+                    .register(registry);
+        }
+    }
+
+    static final class Buckets {
+        private final long emissionIntervalNanos;
+        private final long burstWindowNanos;
+        private final Cache<String, AtomicLong> buckets;
+
+        Buckets(double perSecond, int burst, Duration idleTimeout) {
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstWindowNanos = emissionIntervalNanos * burst;
+            // Never evict a bucket that has not fully refilled, or eviction would hand out extra tokens
+            long idleNanos = Math.max(idleTimeout.toNanos(), burstWindowNanos);
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(idleNanos, TimeUnit.NANOSECONDS)
+                    .build();
+        }
+
+        long tryAcquire(String key, long now) {
+            AtomicLong arrival = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long current = arrival.get();
+                long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + emissionIntervalNanos;
+                long excess = next - now - burstWindowNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
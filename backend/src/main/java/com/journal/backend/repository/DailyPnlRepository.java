@@ -0,0 +1,51 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.entity.DailyPnl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyPnlRepository extends JpaRepository<DailyPnl, DailyPnl.Key> {
+
+    // Applied in the database so concurrent writers for the same day cannot lose increments
+    @Modifying
+    @Query("UPDATE DailyPnl d SET d.tradeCount = d.tradeCount + :tradeCount, d.pnl = d.pnl + :pnl " +
+           "WHERE d.userId = :userId AND d.tradeDate = :tradeDate")
+    int applyDelta(@Param("userId") String userId,
+                   @Param("tradeDate") LocalDate tradeDate,
+                   @Param("tradeCount") long tradeCount,
+                   @Param("pnl") double pnl);
+
+    // Days whose trades were all deleted or reopened keep a zero row; skip them
+    @Query("SELECT d FROM DailyPnl d WHERE d.userId = :userId AND d.tradeCount > 0 ORDER BY d.tradeDate ASC")
+    List<DailyPnl> findTradingDays(@Param("userId") String userId);
+
+    @Query("SELECT d FROM DailyPnl d WHERE d.userId = :userId AND d.tradeDate BETWEEN :startDate AND :endDate " +
+           "AND d.tradeCount > 0 ORDER BY d.tradeDate ASC")
+    List<DailyPnl> findTradingDays(@Param("userId") String userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    // The rollups recomputed from journal_entries, as the V3 backfill built them.
+    // Rows are [userId, tradeDate, tradeCount, pnl].
+    @Query(value = "SELECT user_id, CAST(entry_time AS DATE), COUNT(*), SUM(pnl) FROM journal_entries " +
+                   "WHERE pnl IS NOT NULL GROUP BY user_id, CAST(entry_time AS DATE)", nativeQuery = true)
+    List<Object[]> aggregateFromEntries();
+
+    @Modifying
+    @Query("DELETE FROM DailyPnl d WHERE d.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_pnl (user_id, trade_date, trade_count, pnl) " +
+                   "SELECT user_id, CAST(entry_time AS DATE), COUNT(*), SUM(pnl) FROM journal_entries " +
+                   "WHERE user_id = :userId AND pnl IS NOT NULL GROUP BY user_id, CAST(entry_time AS DATE)",
+           nativeQuery = true)
+    int insertFromEntries(@Param("userId") String userId);
+}
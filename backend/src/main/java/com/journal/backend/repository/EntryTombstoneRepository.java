@@ -0,0 +1,34 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.entity.EntryTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EntryTombstoneRepository extends JpaRepository<EntryTombstone, EntryTombstone.Key> {
+
+    // Keyset page ordered by (deletedAt, entryId), bounded above by the sync horizon
+    @Query("SELECT t FROM EntryTombstone t WHERE t.userId = :userId AND t.deletedAt < :horizon " +
+           "AND (t.deletedAt > :cursorTime OR (t.deletedAt = :cursorTime AND t.entryId > :cursorId)) " +
+           "ORDER BY t.deletedAt ASC, t.entryId ASC")
+    List<EntryTombstone> findNextPageByUserId(@Param("userId") String userId,
+                                              @Param("cursorTime") LocalDateTime cursorTime,
+                                              @Param("cursorId") Long cursorId,
+                                              @Param("horizon") LocalDateTime horizon,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EntryTombstone t WHERE t.userId = :userId AND t.entryId = :entryId")
+    int deleteByUserIdAndEntryId(@Param("userId") String userId, @Param("entryId") Long entryId);
+
+    @Modifying
+    @Query("DELETE FROM EntryTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,16 +1,26 @@
 package com.journal.backend.repository;
 
+import com.journal.backend.dto.SymbolSummary;
 import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.entity.UserStats;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long>, JournalEntryRepositoryCustom {
     
     List<JournalEntry> findByUserIdOrderByEntryTimeDesc(String userId);
     
@@ -21,9 +31,132 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
                                                        @Param("startDate") LocalDateTime startDate, 
                                                        @Param("endDate") LocalDateTime endDate);
     
+    // Keyset pages: ordered by (entryTime, id) descending and bounded with a first-page Pageable,
+    // so the database seeks straight to the cursor instead of skipping an OFFSET.
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findFirstPageByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId " +
+           "AND (j.entryTime < :cursorTime OR (j.entryTime = :cursorTime AND j.id < :cursorId)) " +
+           "ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findNextPageByUserId(@Param("userId") String userId,
+                                            @Param("cursorTime") LocalDateTime cursorTime,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.symbol = :symbol ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findFirstPageByUserIdAndSymbol(@Param("userId") String userId,
+                                                      @Param("symbol") String symbol,
+                                                      Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.symbol = :symbol " +
+           "AND (j.entryTime < :cursorTime OR (j.entryTime = :cursorTime AND j.id < :cursorId)) " +
+           "ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findNextPageByUserIdAndSymbol(@Param("userId") String userId,
+                                                     @Param("symbol") String symbol,
+                                                     @Param("cursorTime") LocalDateTime cursorTime,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.entryTime BETWEEN :startDate AND :endDate " +
+           "ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findFirstPageByUserIdAndEntryTimeBetween(@Param("userId") String userId,
+                                                                @Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate,
+                                                                Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.entryTime BETWEEN :startDate AND :endDate " +
+           "AND (j.entryTime < :cursorTime OR (j.entryTime = :cursorTime AND j.id < :cursorId)) " +
+           "ORDER BY j.entryTime DESC, j.id DESC")
+    List<JournalEntry> findNextPageByUserIdAndEntryTimeBetween(@Param("userId") String userId,
+                                                               @Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate,
+                                                               @Param("cursorTime") LocalDateTime cursorTime,
+                                                               @Param("cursorId") Long cursorId,
+                                                               Pageable pageable);
+
+    // Delta sync: entries changed before the horizon, oldest change first, keyset on (updatedAt, id)
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.updatedAt < :horizon " +
+           "ORDER BY j.updatedAt ASC, j.id ASC")
+    List<JournalEntry> findFirstChangesByUserId(@Param("userId") String userId,
+                                                @Param("horizon") LocalDateTime horizon,
+                                                Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.updatedAt < :horizon " +
+           "AND (j.updatedAt > :cursorTime OR (j.updatedAt = :cursorTime AND j.id > :cursorId)) " +
+           "ORDER BY j.updatedAt ASC, j.id ASC")
+    List<JournalEntry> findNextChangesByUserId(@Param("userId") String userId,
+                                               @Param("cursorTime") LocalDateTime cursorTime,
+                                               @Param("cursorId") Long cursorId,
+                                               @Param("horizon") LocalDateTime horizon,
+                                               Pageable pageable);
+
+    // Must be consumed inside a read-only transaction and closed; rows are pulled from the
+    // JDBC cursor in fetch-size chunks rather than materialised as a list.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId ORDER BY j.entryTime ASC, j.id ASC")
+    Stream<JournalEntry> streamByUserIdOrderByEntryTimeAsc(@Param("userId") String userId);
+
+    // Analytics rows: closed trades only, as scalar [pnl, entry, stopLoss, exit] tuples in
+    // chronological order so no entities are hydrated or tracked.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT j.pnl, j.entry, j.stopLoss, j.exit FROM JournalEntry j " +
+           "WHERE j.userId = :userId AND j.pnl IS NOT NULL ORDER BY j.entryTime ASC, j.id ASC")
+    Stream<Object[]> streamAnalyticsRowsByUserId(@Param("userId") String userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT j.pnl, j.entry, j.stopLoss, j.exit FROM JournalEntry j " +
+           "WHERE j.userId = :userId AND j.symbol = :symbol AND j.pnl IS NOT NULL ORDER BY j.entryTime ASC, j.id ASC")
+    Stream<Object[]> streamAnalyticsRowsByUserIdAndSymbol(@Param("userId") String userId,
+                                                         @Param("symbol") String symbol);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT j.pnl, j.entry, j.stopLoss, j.exit FROM JournalEntry j " +
+           "WHERE j.userId = :userId AND j.entryTime BETWEEN :startDate AND :endDate AND j.pnl IS NOT NULL " +
+           "ORDER BY j.entryTime ASC, j.id ASC")
+    Stream<Object[]> streamAnalyticsRowsByUserIdAndEntryTimeBetween(@Param("userId") String userId,
+                                                                   @Param("startDate") LocalDateTime startDate,
+                                                                   @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT j.pnl, j.entry, j.stopLoss, j.exit FROM JournalEntry j " +
+           "WHERE j.userId = :userId AND j.symbol = :symbol AND j.entryTime BETWEEN :startDate AND :endDate " +
+           "AND j.pnl IS NOT NULL ORDER BY j.entryTime ASC, j.id ASC")
+    Stream<Object[]> streamAnalyticsRowsByUserIdAndSymbolAndEntryTimeBetween(@Param("userId") String userId,
+                                                                            @Param("symbol") String symbol,
+                                                                            @Param("startDate") LocalDateTime startDate,
+                                                                            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.exitTime IS NULL ORDER BY j.entryTime DESC")
+    List<JournalEntry> findOpenPositionsByUserId(@Param("userId") String userId);
+
     @Query("SELECT COUNT(j) FROM JournalEntry j WHERE j.userId = :userId")
     long countByUserId(@Param("userId") String userId);
     
     @Query("SELECT SUM(j.pnl) FROM JournalEntry j WHERE j.userId = :userId AND j.pnl IS NOT NULL")
     Double getTotalPnlByUserId(@Param("userId") String userId);
+
+    // Full recomputation of the user_stats row; used to seed a missing row and to verify drift.
+    @Query("SELECT new com.journal.backend.entity.UserStats(j.userId, COUNT(j), SUM(j.pnl), " +
+           "SUM(CASE WHEN j.pnl > 0 THEN 1L ELSE 0L END), SUM(CASE WHEN j.pnl < 0 THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN j.pnl > 0 THEN j.pnl ELSE 0.0 END), SUM(CASE WHEN j.pnl < 0 THEN -j.pnl ELSE 0.0 END)) " +
+           "FROM JournalEntry j WHERE j.userId = :userId GROUP BY j.userId")
+    Optional<UserStats> aggregateStatsByUserId(@Param("userId") String userId);
+
+    @Query("SELECT new com.journal.backend.entity.UserStats(j.userId, COUNT(j), SUM(j.pnl), " +
+           "SUM(CASE WHEN j.pnl > 0 THEN 1L ELSE 0L END), SUM(CASE WHEN j.pnl < 0 THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN j.pnl > 0 THEN j.pnl ELSE 0.0 END), SUM(CASE WHEN j.pnl < 0 THEN -j.pnl ELSE 0.0 END)) " +
+           "FROM JournalEntry j GROUP BY j.userId")
+    List<UserStats> aggregateStatsGroupedByUserId();
+
+    // Per-symbol breakdown in one grouped pass; groups on the integer symbol key and converts
+    // each group's key back to its name.
+    @Query("SELECT new com.journal.backend.dto.SymbolSummary(j.symbol, COUNT(j), COUNT(j.pnl), " +
+           "SUM(CASE WHEN j.pnl > 0 THEN 1L ELSE 0L END), SUM(j.pnl), " +
+           "AVG(CAST(function('DATEDIFF', 'SECOND', j.entryTime, j.exitTime) AS double))) " +
+           "FROM JournalEntry j WHERE j.userId = :userId GROUP BY j.symbol")
+    List<SymbolSummary> aggregateBySymbolForUserId(@Param("userId") String userId);
 }
@@ -0,0 +1,60 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.dto.EntryField;
+import com.journal.backend.entity.JournalEntry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Projection queries whose select list depends on the request, so they cannot be declared with
+ * {@code @Query}. Each row holds the requested fields in {@link EntryField} order, followed by the
+ * entry's id and entryTime for building a page cursor. Rows are ordered newest first.
+ *
+ * <p>A null {@code cursorTime} starts at the newest entry; {@code maxRows <= 0} means no limit.
+ */
+public interface JournalEntryRepositoryCustom {
+
+    List<Object[]> findFieldsByUserId(String userId, Set<EntryField> fields,
+                                      LocalDateTime cursorTime, Long cursorId, int maxRows);
+
+    List<Object[]> findFieldsByUserIdAndSymbol(String userId, String symbol, Set<EntryField> fields,
+                                               LocalDateTime cursorTime, Long cursorId, int maxRows);
+
+    List<Object[]> findFieldsByUserIdAndEntryTimeBetween(String userId, LocalDateTime startDate,
+                                                         LocalDateTime endDate, Set<EntryField> fields,
+                                                         LocalDateTime cursorTime, Long cursorId, int maxRows);
+
+    List<Object[]> findOpenFieldsByUserId(String userId, Set<EntryField> fields);
+
+    /**
+     * Sets {@code changes}, {@code updatedAt} and the next version on entry {@code id} in one
+     * UPDATE, provided it is still at {@code version} (and owned by {@code ownerId}, if given).
+     *
+     * @return the entry as it was before the update, detached; empty if no row matched
+     * @throws IllegalArgumentException if a field in {@code changes} cannot be patched
+     */
+    Optional<JournalEntry> patchEntry(Long id, long version, String ownerId,
+                                      Map<EntryField, Object> changes, LocalDateTime updatedAt);
+
+    /*
+     * Set-based deletes. Each is one DELETE that returns the rows it removed as
+     * [id, userId, entryTime, pnl], so callers can settle stats, search terms and tombstones
+     * without reading the entries first. The user-scoped ones remove at most maxRows rows per
+     * call; call again until fewer come back.
+     */
+
+    /**
+     * @param ownerId if not null, other users' entries among {@code ids} are left alone
+     */
+    List<Object[]> deleteEntries(Collection<Long> ids, String ownerId);
+
+    List<Object[]> deleteEntriesByUserIdAndSymbol(String userId, String symbol, int maxRows);
+
+    List<Object[]> deleteEntriesByUserIdAndEntryTimeBetween(String userId, LocalDateTime startDate,
+                                                            LocalDateTime endDate, int maxRows);
+}
@@ -0,0 +1,192 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.dto.EntryField;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.symbol.SymbolDictionary;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds the JPQL for {@link JournalEntryRepositoryCustom}. Only scalar columns are selected, so
+ * Hibernate neither hydrates entities nor tracks them for dirty checking.
+ *
+ * <p>{@link #patchEntry} and the deletes are native H2 SQL: reading the statement's {@code OLD TABLE}
+ * returns the previous rows from the UPDATE or DELETE itself, so there is no SELECT before it.
+ */
+class JournalEntryRepositoryImpl implements JournalEntryRepositoryCustom {
+
+    private static final String KEYSET = " AND (j.entryTime < :cursorTime OR (j.entryTime = :cursorTime AND j.id < :cursorId))";
+
+    private static final Map<EntryField, String> PATCHABLE_COLUMNS = new EnumMap<>(EntryField.class);
+
+    static {
+        PATCHABLE_COLUMNS.put(EntryField.ENTRY_TIME, "entry_time");
+        PATCHABLE_COLUMNS.put(EntryField.SYMBOL, "symbol_id");
+        PATCHABLE_COLUMNS.put(EntryField.ENTRY, "entry_price");
+        PATCHABLE_COLUMNS.put(EntryField.STOP_LOSS, "stop_loss");
+        PATCHABLE_COLUMNS.put(EntryField.POSITION_SIZE, "position_size");
+        PATCHABLE_COLUMNS.put(EntryField.TARGET, "target");
+        PATCHABLE_COLUMNS.put(EntryField.TRAILING_STOP, "trailing_stop");
+        PATCHABLE_COLUMNS.put(EntryField.EXIT_TIME, "exit_time");
+        PATCHABLE_COLUMNS.put(EntryField.EXIT, "exit_price");
+        PATCHABLE_COLUMNS.put(EntryField.PNL, "pnl");
+        PATCHABLE_COLUMNS.put(EntryField.SETUP, "setup");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SymbolDictionary symbolDictionary;
+
+    @Override
+    public List<Object[]> findFieldsByUserId(String userId, Set<EntryField> fields,
+                                             LocalDateTime cursorTime, Long cursorId, int maxRows) {
+        return select(fields, "j.userId = :userId", cursorTime, cursorId, maxRows)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findFieldsByUserIdAndSymbol(String userId, String symbol, Set<EntryField> fields,
+                                                      LocalDateTime cursorTime, Long cursorId, int maxRows) {
+        return select(fields, "j.userId = :userId AND j.symbol = :symbol", cursorTime, cursorId, maxRows)
+                .setParameter("userId", userId)
+                .setParameter("symbol", symbol)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findFieldsByUserIdAndEntryTimeBetween(String userId, LocalDateTime startDate,
+                                                                LocalDateTime endDate, Set<EntryField> fields,
+                                                                LocalDateTime cursorTime, Long cursorId, int maxRows) {
+        return select(fields, "j.userId = :userId AND j.entryTime BETWEEN :startDate AND :endDate",
+                cursorTime, cursorId, maxRows)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findOpenFieldsByUserId(String userId, Set<EntryField> fields) {
+        return select(fields, "j.userId = :userId AND j.exitTime IS NULL", null, null, 0)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<JournalEntry> patchEntry(Long id, long version, String ownerId,
+                                             Map<EntryField, Object> changes, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM OLD TABLE (UPDATE journal_entries SET ");
+        for (EntryField field : changes.keySet()) {
+            String column = PATCHABLE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException(field.getProperty() + " cannot be patched");
+            }
+            sql.append(column).append(" = :").append(field.getProperty()).append(", ");
+        }
+        // A plain "user_id = ?" makes H2 plan the UPDATE on the user index instead of the primary key
+        sql.append("updated_at = :updatedAt, version = version + 1 "
+                + "WHERE id = :id AND version = :version AND user_id = COALESCE(:ownerId, user_id))");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), JournalEntry.class);
+        changes.forEach((field, value) -> query.setParameter(field.getProperty(),
+                field == EntryField.SYMBOL ? symbolDictionary.idOf(symbolDictionary.intern((String) value)) : value));
+        query.setParameter("updatedAt", updatedAt)
+             .setParameter("id", id)
+             .setParameter("version", version)
+             .setParameter("ownerId", new TypedParameterValue(StandardBasicTypes.STRING, ownerId));
+
+        List<?> previous = query.getResultList();
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        // Loaded with the old values; it must not be flushed back over the update
+        JournalEntry entry = (JournalEntry) previous.get(0);
+        entityManager.detach(entry);
+        return Optional.of(entry);
+    }
+
+    @Override
+    public List<Object[]> deleteEntries(Collection<Long> ids, String ownerId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // COALESCE for the same reason as in patchEntry: it keeps the DELETE on the primary key
+        return deleted("DELETE FROM journal_entries WHERE id IN (:ids) AND user_id = COALESCE(:ownerId, user_id)")
+                .setParameter("ids", ids)
+                .setParameter("ownerId", new TypedParameterValue(StandardBasicTypes.STRING, ownerId))
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> deleteEntriesByUserIdAndSymbol(String userId, String symbol, int maxRows) {
+        // Selected first: a direct DELETE is planned on the (user_id, entry_time) index and filters every row
+        return deleted("DELETE FROM journal_entries WHERE id IN (SELECT id FROM journal_entries "
+                + "WHERE user_id = :userId AND symbol_id = :symbolId FETCH FIRST :maxRows ROWS ONLY)")
+                .setParameter("userId", userId)
+                .setParameter("symbolId", symbolDictionary.idOf(symbol))
+                .setParameter("maxRows", maxRows)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> deleteEntriesByUserIdAndEntryTimeBetween(String userId, LocalDateTime startDate,
+                                                                   LocalDateTime endDate, int maxRows) {
+        return deleted("DELETE FROM journal_entries WHERE user_id = :userId "
+                + "AND entry_time BETWEEN :startDate AND :endDate FETCH FIRST :maxRows ROWS ONLY")
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setParameter("maxRows", maxRows)
+                .getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> deleted(String delete) {
+        return entityManager.createNativeQuery("SELECT id, user_id, entry_time, pnl FROM OLD TABLE (" + delete + ")")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("user_id", StandardBasicTypes.STRING)
+                .addScalar("entry_time", LocalDateTimeType.INSTANCE)
+                .addScalar("pnl", StandardBasicTypes.DOUBLE);
+    }
+
+    private TypedQuery<Object[]> select(Set<EntryField> fields, String where,
+                                        LocalDateTime cursorTime, Long cursorId, int maxRows) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (EntryField field : fields) {
+            jpql.append("j.").append(field.getProperty()).append(", ");
+        }
+        jpql.append("j.id, j.entryTime FROM JournalEntry j WHERE ").append(where);
+        if (cursorTime != null) {
+            jpql.append(KEYSET);
+        }
+        jpql.append(" ORDER BY j.entryTime DESC, j.id DESC");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (cursorTime != null) {
+            query.setParameter("cursorTime", cursorTime).setParameter("cursorId", cursorId);
+        }
+        if (maxRows > 0) {
+            query.setMaxResults(maxRows);
+        }
+        return query;
+    }
+}
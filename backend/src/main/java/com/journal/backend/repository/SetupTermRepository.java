@@ -0,0 +1,22 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.entity.SetupTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface SetupTermRepository extends JpaRepository<SetupTerm, SetupTerm.Key>, SetupTermRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM SetupTerm t WHERE t.entryId = :entryId")
+    int deleteByEntryId(@Param("entryId") Long entryId);
+
+    @Modifying
+    @Query("DELETE FROM SetupTerm t WHERE t.entryId IN :entryIds")
+    int deleteByEntryIdIn(@Param("entryIds") Collection<Long> entryIds);
+}
@@ -0,0 +1,16 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.search.Postings;
+
+/**
+ * Posting-list reads for setup search. These run on every query and can return tens of thousands
+ * of rows for common words, so they bypass JPA result handling and read straight into arrays.
+ */
+public interface SetupTermRepositoryCustom {
+
+    /**
+     * @param prefix whether {@code term} matches every indexed term starting with it; an entry
+     *               matching several such terms gets the sum of their frequencies
+     */
+    Postings findPostings(String userId, String term, boolean prefix);
+}
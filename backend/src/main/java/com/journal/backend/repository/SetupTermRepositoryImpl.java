@@ -0,0 +1,64 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.search.Postings;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Runs the posting queries as plain JDBC on the current transaction's connection. Both are answered
+ * from idx_setup_terms_postings alone; a prefix becomes the key range [term, term + U+FFFF).
+ */
+class SetupTermRepositoryImpl implements SetupTermRepositoryCustom {
+
+    private static final String EXACT = "SELECT entry_id, term_frequency FROM setup_terms "
+            + "WHERE user_id = ? AND term = ? ORDER BY entry_id";
+    private static final String PREFIX = "SELECT entry_id, term_frequency FROM setup_terms "
+            + "WHERE user_id = ? AND term >= ? AND term < ? ORDER BY entry_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Postings findPostings(String userId, String term, boolean prefix) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(prefix ? PREFIX : EXACT)) {
+                statement.setString(1, userId);
+                statement.setString(2, term);
+                if (prefix) {
+                    statement.setString(3, term + Character.MAX_VALUE);
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    return read(rows);
+                }
+            }
+        });
+    }
+
+    // Rows arrive ordered by entry id; consecutive rows for one entry (prefix matches) are summed
+    private static Postings read(ResultSet rows) throws SQLException {
+        long[] ids = new long[256];
+        int[] frequencies = new int[256];
+        int size = 0;
+        while (rows.next()) {
+            long id = rows.getLong(1);
+            int frequency = rows.getInt(2);
+            if (size > 0 && ids[size - 1] == id) {
+                frequencies[size - 1] += frequency;
+                continue;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size++] = frequency;
+        }
+        return size == 0 ? Postings.EMPTY : new Postings(ids, frequencies, size);
+    }
+}
@@ -2,13 +2,19 @@ package com.journal.backend.repository;
 
 import com.journal.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByEmailAndPasswordHash(String email, String passwordHash);
     boolean existsByEmail(String email);
+
+    // Must be consumed inside a transaction and closed
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
 }
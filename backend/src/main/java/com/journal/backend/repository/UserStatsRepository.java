@@ -0,0 +1,43 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, String> {
+
+    // Applied in the database so concurrent writers for the same user cannot lose increments
+    @Modifying
+    @Query("UPDATE UserStats s SET s.entryCount = s.entryCount + :entryCount, " +
+           "s.totalPnl = s.totalPnl + :totalPnl, " +
+           "s.winCount = s.winCount + :winCount, " +
+           "s.lossCount = s.lossCount + :lossCount, " +
+           "s.grossProfit = s.grossProfit + :grossProfit, " +
+           "s.grossLoss = s.grossLoss + :grossLoss " +
+           "WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") String userId,
+                   @Param("entryCount") long entryCount,
+                   @Param("totalPnl") double totalPnl,
+                   @Param("winCount") long winCount,
+                   @Param("lossCount") long lossCount,
+                   @Param("grossProfit") double grossProfit,
+                   @Param("grossLoss") double grossLoss);
+
+    @Query("SELECT s.userId FROM UserStats s WHERE s.userId IN :userIds")
+    List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+    // SELECT ... FOR UPDATE: holds off every writer for the user until the caller commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId = :userId")
+    Optional<UserStats> findByIdForUpdate(@Param("userId") String userId);
+}
@@ -0,0 +1,59 @@
+package com.journal.backend.search;
+
+/**
+ * Entries matching one search term, ordered by entry id, with how often the term occurs in each.
+ * Kept as primitive arrays so merging the lists of common terms does not box every posting.
+ */
+public final class Postings {
+
+    public static final Postings EMPTY = new Postings(new long[0], new int[0], 0);
+
+    private final long[] entryIds;
+    private final int[] frequencies;
+    private final int size;
+
+    /**
+     * @param entryIds strictly ascending in the first {@code size} slots
+     */
+    public Postings(long[] entryIds, int[] frequencies, int size) {
+        this.entryIds = entryIds;
+        this.frequencies = frequencies;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long entryId(int index) {
+        return entryIds[index];
+    }
+
+    public int frequency(int index) {
+        return frequencies[index];
+    }
+
+    /**
+     * Entries in either list; an entry in both gets the sum of its frequencies.
+     */
+    public Postings union(Postings other) {
+        long[] ids = new long[size + other.size];
+        int[] sums = new int[size + other.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && entryIds[i] < other.entryIds[j])) {
+                ids[n] = entryIds[i];
+                sums[n++] = frequencies[i++];
+            } else if (i == size || other.entryIds[j] < entryIds[i]) {
+                ids[n] = other.entryIds[j];
+                sums[n++] = other.frequencies[j++];
+            } else {
+                ids[n] = entryIds[i];
+                sums[n++] = frequencies[i++] + other.frequencies[j++];
+            }
+        }
+        return new Postings(ids, sums, n);
+    }
+}
@@ -0,0 +1,90 @@
+package com.journal.backend.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed search: every group must match (AND), and a group matches when any of its terms does
+ * (OR). Words are ANDed; {@code OR} between two words puts them in one group, and a trailing
+ * {@code *} makes a word a prefix. {@code breakout vwap OR ema*} is breakout AND (vwap OR ema...).
+ */
+public final class SetupQuery {
+
+    public static final int MAX_TERMS = 10;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+\\*?");
+
+    private final List<List<Term>> groups;
+
+    private SetupQuery(List<List<Term>> groups) {
+        this.groups = groups;
+    }
+
+    public List<List<Term>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query has no searchable term or more than {@value #MAX_TERMS}
+     */
+    public static SetupQuery parse(String query) {
+        List<List<Term>> groups = new ArrayList<>();
+        int terms = 0;
+        boolean or = false;
+        Matcher matcher = TOKEN.matcher(query == null ? "" : query);
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (token.equals("OR")) {
+                or = !groups.isEmpty();
+                continue;
+            }
+            boolean prefix = token.endsWith("*");
+            String text = SetupTokenizer.normalize(prefix ? token.substring(0, token.length() - 1) : token);
+            if (text == null) {
+                or = false;
+                continue;
+            }
+            if (++terms > MAX_TERMS) {
+                throw new IllegalArgumentException("At most " + MAX_TERMS + " search terms are allowed");
+            }
+            Term term = new Term(text, prefix);
+            if (or) {
+                groups.get(groups.size() - 1).add(term);
+            } else {
+                groups.add(new ArrayList<>(List.of(term)));
+            }
+            or = false;
+        }
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("Query has no searchable terms");
+        }
+        groups.replaceAll(Collections::unmodifiableList);
+        return new SetupQuery(Collections.unmodifiableList(groups));
+    }
+
+    public static final class Term {
+        private final String text;
+        private final boolean prefix;
+
+        Term(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isPrefix() {
+            return prefix;
+        }
+
+        @Override
+        public String toString() {
+            return prefix ? text + "*" : text;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.journal.backend.search;
+
+import com.journal.backend.dto.EntryPage;
+import com.journal.backend.dto.SearchCursor;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.entity.SetupTerm;
+import com.journal.backend.repository.SetupTermRepository;
+import com.journal.backend.service.UserStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Inverted index over setup notes, kept in the {@code setup_terms} table in the same transaction
+ * as each journal write, and ranked search over it. Every lookup is a seek on
+ * (user_id, term, entry_id), so a search reads only the postings of its own terms for one user.
+ */
+@Service
+public class SetupSearchService {
+
+    @Autowired
+    private SetupTermRepository setupTermRepository;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds postings for a newly written entry; it must already have its id.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void index(JournalEntry entry) {
+        SetupTokenizer.termFrequencies(entry.getSetup()).forEach((term, frequency) ->
+                entityManager.persist(new SetupTerm(entry.getUserId(), term, entry.getId(), frequency)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Long entryId) {
+        setupTermRepository.deleteByEntryId(entryId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeAll(Collection<Long> entryIds) {
+        setupTermRepository.deleteByEntryIdIn(entryIds);
+    }
+
+    /**
+     * Returns one page of the ids of the user's entries matching {@code query}, best first.
+     * Each group scores {@code idf * (1 + ln tf)}, where tf sums the group's terms in the entry and
+     * idf is {@code ln(1 + entries / matching entries)}; an entry's score is the sum over groups.
+     * Posting lists are merged in entry-id order and only the best {@code pageSize + 1} hits are
+     * ever sorted.
+     */
+    @Transactional(readOnly = true)
+    public EntryPage<Long> search(String userId, SetupQuery query, SearchCursor after, int pageSize) {
+        double entryCount = Math.max(1, userStatsService.getStats(userId).getEntryCount());
+        long[] ids = null;
+        double[] scores = null;
+        int size = 0;
+        for (List<SetupQuery.Term> group : query.getGroups()) {
+            Postings postings = null;
+            for (SetupQuery.Term term : group) {
+                Postings termPostings = setupTermRepository.findPostings(userId, term.getText(), term.isPrefix());
+                postings = postings == null ? termPostings : postings.union(termPostings);
+            }
+            if (postings.size() == 0) {
+                return new EntryPage<>(List.of(), null);
+            }
+            double idf = Math.log(1 + entryCount / postings.size());
+            if (ids == null) {
+                size = postings.size();
+                ids = new long[size];
+                scores = new double[size];
+                for (int i = 0; i < size; i++) {
+                    ids[i] = postings.entryId(i);
+                    scores[i] = idf * (1 + Math.log(postings.frequency(i)));
+                }
+                continue;
+            }
+            // AND: keep entries present in both lists, compacting in place
+            int kept = 0;
+            for (int i = 0, j = 0; i < size && j < postings.size(); ) {
+                if (ids[i] < postings.entryId(j)) {
+                    i++;
+                } else if (ids[i] > postings.entryId(j)) {
+                    j++;
+                } else {
+                    ids[kept] = ids[i];
+                    scores[kept++] = scores[i++] + idf * (1 + Math.log(postings.frequency(j++)));
+                }
+            }
+            size = kept;
+            if (size == 0) {
+                return new EntryPage<>(List.of(), null);
+            }
+        }
+        return topHits(ids, scores, size, after, pageSize);
+    }
+
+    // Ranked by score, then id, both descending, so equal scores page deterministically
+    private static EntryPage<Long> topHits(long[] ids, double[] scores, int size, SearchCursor after, int pageSize) {
+        Comparator<Integer> rank = Comparator.<Integer>comparingDouble(i -> scores[i]).thenComparingLong(i -> ids[i]);
+        // Min-heap of the best pageSize + 1 hits; the extra one tells whether another page exists
+        PriorityQueue<Integer> best = new PriorityQueue<>(pageSize + 1, rank);
+        for (int i = 0; i < size; i++) {
+            if (after != null && (scores[i] > after.getScore()
+                    || (scores[i] == after.getScore() && ids[i] >= after.getId()))) {
+                continue;
+            }
+            if (best.size() <= pageSize) {
+                best.add(i);
+            } else if (rank.compare(i, best.peek()) > 0) {
+                best.poll();
+                best.add(i);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll());
+        }
+        Collections.reverse(ranked);
+
+        String nextCursor = null;
+        if (ranked.size() > pageSize) {
+            ranked = ranked.subList(0, pageSize);
+            int last = ranked.get(pageSize - 1);
+            nextCursor = new SearchCursor(scores[last], ids[last]).encode();
+        }
+        List<Long> page = new ArrayList<>(ranked.size());
+        ranked.forEach(i -> page.add(ids[i]));
+        return new EntryPage<>(page, nextCursor);
+    }
+}
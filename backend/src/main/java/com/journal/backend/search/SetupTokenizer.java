@@ -0,0 +1,51 @@
+package com.journal.backend.search;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits setup notes into lower-cased index terms: runs of letters and digits, at least
+ * {@value #MIN_TERM_LENGTH} characters long, cut to {@value #MAX_TERM_LENGTH}. Queries go through
+ * the same rules, so "VWAP-reclaim" in a note is found by {@code vwap} and by {@code reclaim}.
+ */
+public final class SetupTokenizer {
+
+    public static final int MIN_TERM_LENGTH = 2;
+    public static final int MAX_TERM_LENGTH = 64;
+
+    static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private SetupTokenizer() {}
+
+    /**
+     * @return each distinct term in {@code text} with its number of occurrences, in first-seen order
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            String term = normalize(matcher.group());
+            if (term != null) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * @return the index term for one word, or null if it is too short to be indexed
+     */
+    static String normalize(String word) {
+        if (word.length() < MIN_TERM_LENGTH) {
+            return null;
+        }
+        String term = word.toLowerCase(Locale.ROOT);
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+}
@@ -0,0 +1,12 @@
+package com.journal.backend.service;
+
+/**
+ * Thrown when a batch call is given more than {@value JournalEntryService#MAX_BATCH_SIZE} items,
+ * so callers can tell an oversized request apart from other bad arguments.
+ */
+public class BatchTooLargeException extends IllegalArgumentException {
+
+    public BatchTooLargeException(int size) {
+        super("Batch of " + size + " exceeds " + JournalEntryService.MAX_BATCH_SIZE + " entries");
+    }
+}
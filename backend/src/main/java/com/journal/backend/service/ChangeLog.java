@@ -0,0 +1,142 @@
+package com.journal.backend.service;
+
+import com.journal.backend.entity.EntryTombstone;
+import com.journal.backend.repository.EntryTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bookkeeping for delta sync: the tombstone log of entries that left a user's journal, and the
+ * horizon below which every change is known to have committed.
+ *
+ * <p>An entry's {@code updatedAt} is stamped when it is flushed, but only becomes visible when its
+ * transaction commits, possibly after later stamps. Writers therefore call {@link #beginChange()}
+ * first, and {@link #horizon()} never passes the start of a write still in flight. A sync that
+ * only returns changes stamped before the horizon can hand that horizon out as the next watermark
+ * without skipping a slow writer.
+ */
+@Service
+public class ChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+    // Write transaction -> when it started; a handful at most (bounded by the connection pool)
+    private final Map<Object, LocalDateTime> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EntryTombstoneRepository entryTombstoneRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${journal.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    /**
+     * Holds the horizon at or before now until the current transaction completes. Call before
+     * stamping or deleting anything; repeated calls in one transaction are free.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beginChange() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Object transaction = new Object();
+        inFlight.put(transaction, now());
+        TransactionSynchronizationManager.bindResource(this, transaction);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+                inFlight.remove(transaction);
+            }
+        });
+    }
+
+    /**
+     * @return a time such that every change stamped before it has already committed
+     */
+    public LocalDateTime horizon() {
+        LocalDateTime horizon = now();
+        for (LocalDateTime started : inFlight.values()) {
+            if (started.isBefore(horizon)) {
+                horizon = started;
+            }
+        }
+        return horizon;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(String userId, Long entryId) {
+        beginChange();
+        entryTombstoneRepository.save(new EntryTombstone(userId, entryId, now()));
+    }
+
+    /**
+     * Tombstones for entries already deleted in bulk. They are persisted rather than merged, so
+     * they go out as batched INSERTs without a lookup each; deleted ids never come back, so none
+     * can already have a tombstone for this user.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletions(String userId, Collection<Long> entryIds) {
+        beginChange();
+        LocalDateTime deletedAt = now();
+        for (Long entryId : entryIds) {
+            entityManager.persist(new EntryTombstone(userId, entryId, deletedAt));
+        }
+    }
+
+    /**
+     * An entry handed to another user is a deletion for the old owner. If it returns to an owner
+     * that already has a tombstone for it, the tombstone goes, since that owner sees it as updated.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMove(Long entryId, String fromUserId, String toUserId) {
+        recordDeletion(fromUserId, entryId);
+        entryTombstoneRepository.deleteByUserIdAndEntryId(toUserId, entryId);
+    }
+
+    public List<EntryTombstone> findDeletions(String userId, LocalDateTime afterTime, Long afterId,
+                                              LocalDateTime horizon, int limit) {
+        return entryTombstoneRepository.findNextPageByUserId(userId, afterTime, afterId, horizon,
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * @return whether tombstones after {@code time} may already have been compacted away, so a
+     * client syncing from there could miss deletions
+     */
+    public boolean isCompacted(LocalDateTime time) {
+        return time.isBefore(now().minus(tombstoneRetention));
+    }
+
+    @Scheduled(cron = "${journal.sync.compact-cron:0 45 3 * * *}")
+    @Transactional
+    public void compactTombstones() {
+        int removed = entryTombstoneRepository.deleteByDeletedAtBefore(now().minus(tombstoneRetention));
+        logger.info("Compacted {} entry tombstone(s) older than {}", removed, tombstoneRetention);
+    }
+
+    // Stored timestamps keep microseconds; truncating here keeps every comparison exact
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,105 @@
+package com.journal.backend.service;
+
+import com.journal.backend.dto.EquityCurve;
+import com.journal.backend.dto.EquityCurvePoint;
+import com.journal.backend.entity.DailyPnl;
+import com.journal.backend.repository.DailyPnlRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class EquityCurveService {
+
+    public enum Interval {
+        DAY, WEEK, MONTH;
+
+        LocalDate periodStart(LocalDate day) {
+            switch (this) {
+                case WEEK:
+                    return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return day.withDayOfMonth(1);
+                default:
+                    return day;
+            }
+        }
+    }
+
+    @Autowired
+    private DailyPnlRepository dailyPnlRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Folds a write's per-day deltas into the user's daily rollup rows. Must run after the write's
+     * update of the user's stats row (see {@link UserStatsService#apply}): that row lock serializes
+     * writers for the user, so creating a missing day row here cannot race another insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(String userId, Map<LocalDate, StatsDelta.DayDelta> days) {
+        days.forEach((day, delta) -> {
+            if (dailyPnlRepository.applyDelta(userId, day, delta.tradeCount, delta.pnl) == 0) {
+                // persist rather than save: the key is assigned, so save would SELECT before inserting
+                entityManager.persist(new DailyPnl(userId, day, delta.tradeCount, delta.pnl));
+            }
+        });
+    }
+
+    /**
+     * Replaces the user's rollup rows with a recomputation from journal_entries. The caller must
+     * hold the user's stats row lock, or the seed lock if there is no row, like {@link #apply}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(String userId) {
+        dailyPnlRepository.deleteByUserId(userId);
+        dailyPnlRepository.insertFromEntries(userId);
+    }
+
+    /**
+     * Builds the equity curve from the daily rollups, optionally restricted to an inclusive
+     * entry-date range (pass both dates or neither). Drawdown is tracked at daily resolution.
+     */
+    @Transactional(readOnly = true)
+    public EquityCurve getEquityCurve(String userId, LocalDate startDate, LocalDate endDate, Interval interval) {
+        List<DailyPnl> days = startDate != null && endDate != null
+                ? dailyPnlRepository.findTradingDays(userId, startDate, endDate)
+                : dailyPnlRepository.findTradingDays(userId);
+
+        List<EquityCurvePoint> points = new ArrayList<>();
+        EquityCurvePoint current = null;
+        long tradeCount = 0;
+        double equity = 0.0;
+        double peak = 0.0;
+        double maxDrawdown = 0.0;
+        for (DailyPnl day : days) {
+            LocalDate periodStart = interval.periodStart(day.getTradeDate());
+            if (current == null || !current.getPeriodStart().equals(periodStart)) {
+                current = new EquityCurvePoint(periodStart);
+                points.add(current);
+            }
+            tradeCount += day.getTradeCount();
+            equity += day.getPnl();
+            peak = Math.max(peak, equity);
+            maxDrawdown = Math.max(maxDrawdown, peak - equity);
+
+            current.setTradeCount(current.getTradeCount() + day.getTradeCount());
+            current.setPnl(current.getPnl() + day.getPnl());
+            current.setCumulativePnl(equity);
+            current.setDrawdown(peak - equity);
+        }
+        return new EquityCurve(interval.name().toLowerCase(Locale.ROOT), tradeCount, equity, maxDrawdown, points);
+    }
+}
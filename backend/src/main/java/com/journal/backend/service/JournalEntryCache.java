@@ -0,0 +1,162 @@
+package com.journal.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.journal.backend.dto.JournalEntryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single entries and per-user listings.
+ *
+ * <p>Listings are keyed by the user's current version, which every write bumps once its transaction
+ * commits. A write therefore makes exactly that user's listings unreachable in O(1); the orphaned
+ * values age out through the normal size and time bounds. Cached values are immutable
+ * ({@link JournalEntryResponse} and unmodifiable lists), so hits are shared without copying.
+ */
+@Component
+public class JournalEntryCache implements MeterBinder {
+
+    private final Cache<Long, JournalEntryResponse> entries;
+    private final Cache<ListKey, List<JournalEntryResponse>> listings;
+    private final Map<String, Long> userVersions = new ConcurrentHashMap<>();
+    // Versions restart from zero with the process, so tags handed out before a restart must not match
+    private final String tagPrefix = Long.toString(System.currentTimeMillis(), 36);
+
+    public JournalEntryCache(@Value("${journal.cache.entries.max-size:10000}") long entriesMaxSize,
+                             @Value("${journal.cache.entries.ttl:10m}") Duration entriesTtl,
+                             @Value("${journal.cache.listings.max-rows:200000}") long listingsMaxRows,
+                             @Value("${journal.cache.listings.ttl:2m}") Duration listingsTtl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(entriesMaxSize)
+                .expireAfterWrite(entriesTtl)
+                .recordStats()
+                .build();
+        // Weighed by row count so one huge history cannot crowd out thousands of small ones unnoticed
+        this.listings = Caffeine.newBuilder()
+                .maximumWeight(listingsMaxRows)
+                .weigher((ListKey key, List<JournalEntryResponse> value) -> Math.max(1, value.size()))
+                .expireAfterWrite(listingsTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the cached entry, loading it on a miss; absent entries are not cached
+     */
+    public JournalEntryResponse getEntry(Long id, Supplier<JournalEntryResponse> loader) {
+        return entries.get(id, key -> loader.get());
+    }
+
+    /**
+     * @param symbol null for the user's full listing
+     */
+    public List<JournalEntryResponse> getListing(String userId, String symbol,
+                                                 Supplier<List<JournalEntryResponse>> loader) {
+        ListKey key = new ListKey(userId, getUserVersion(userId), symbol);
+        return listings.get(key, ignored -> List.copyOf(loader.get()));
+    }
+
+    public long getUserVersion(String userId) {
+        return userVersions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * @return an opaque tag that changes whenever anything the user can read may have changed
+     */
+    public String getUserTag(String userId) {
+        return tagPrefix + "-" + Long.toString(getUserVersion(userId), 36);
+    }
+
+    /**
+     * Drops an entry once the current transaction commits (immediately when none is active), so a
+     * concurrent reader cannot re-cache the pre-commit row.
+     */
+    public void invalidateEntry(Long id) {
+        afterCommit(() -> entries.invalidate(id));
+    }
+
+    public void invalidateUser(String userId) {
+        afterCommit(() -> userVersions.merge(userId, 1L, Long::sum));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "journal.entries");
+        CaffeineCacheMetrics.monitor(registry, listings, "journal.listings");
+    }
+
+    public Map<String, Map<String, Object>> statistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        statistics.put("entries", describe(entries.stats(), entries.estimatedSize()));
+        statistics.put("listings", describe(listings.stats(), listings.estimatedSize()));
+        return statistics;
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", size);
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("missRate", stats.missRate());
+        description.put("evictionCount", stats.evictionCount());
+        return description;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static final class ListKey {
+        private final String userId;
+        private final long version;
+        private final String symbol;
+
+        ListKey(String userId, long version, String symbol) {
+            this.userId = userId;
+            this.version = version;
+            this.symbol = symbol;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ListKey)) {
+                return false;
+            }
+            ListKey other = (ListKey) o;
+            return version == other.version && userId.equals(other.userId) && Objects.equals(symbol, other.symbol);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, version, symbol);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.journal.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.json.JournalEntryJsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a user's full journal straight to an output stream, one row at a time.
+ */
+@Component
+public class JournalEntryExporter {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER = "id,userId,entryTime,symbol,entry,stopLoss,positionSize,target,"
+            + "trailingStop,exitTime,exit,pnl,setup,createdAt,updatedAt";
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(String userId, Format format, OutputStream out) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(userId, out);
+            } else {
+                writeNdjson(userId, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(String userId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are newline-terminated explicitly, so drop Jackson's default space between root values.
+            generator.setRootValueSeparator(null);
+            journalEntryService.forEachEntryByUserId(userId, entry -> {
+                try {
+                    JournalEntryJsonWriter.writeEntry(generator, entry);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(String userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        journalEntryService.forEachEntryByUserId(userId, entry -> {
+            try {
+                writeCsvRow(writer, entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, JournalEntry entry) throws IOException {
+        writer.write(csv(entry.getId()));
+        writer.write(',');
+        writer.write(csv(entry.getUserId()));
+        writer.write(',');
+        writer.write(csv(entry.getEntryTime()));
+        writer.write(',');
+        writer.write(csv(entry.getSymbol()));
+        writer.write(',');
+        writer.write(csv(entry.getEntry()));
+        writer.write(',');
+        writer.write(csv(entry.getStopLoss()));
+        writer.write(',');
+        writer.write(csv(entry.getPositionSize()));
+        writer.write(',');
+        writer.write(csv(entry.getTarget()));
+        writer.write(',');
+        writer.write(csv(entry.getTrailingStop()));
+        writer.write(',');
+        writer.write(csv(entry.getExitTime()));
+        writer.write(',');
+        writer.write(csv(entry.getExit()));
+        writer.write(',');
+        writer.write(csv(entry.getPnl()));
+        writer.write(',');
+        writer.write(csv(entry.getSetup()));
+        writer.write(',');
+        writer.write(csv(entry.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(entry.getUpdatedAt()));
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting: only fields containing a delimiter, quote or line break are wrapped.
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        }
+        return text;
+    }
+}
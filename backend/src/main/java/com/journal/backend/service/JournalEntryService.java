@@ -1,74 +1,509 @@
 package com.journal.backend.service;
 
+import com.journal.backend.dto.BatchCreateResponse;
+import com.journal.backend.dto.BatchItemResult;
+import com.journal.backend.dto.EntryCursor;
+import com.journal.backend.dto.EntryChanges;
+import com.journal.backend.dto.EntryField;
+import com.journal.backend.dto.EntryPage;
+import com.journal.backend.dto.JournalEntryPatch;
 import com.journal.backend.dto.JournalEntryRequest;
 import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.dto.SearchCursor;
+import com.journal.backend.dto.SyncCursor;
+import com.journal.backend.entity.EntryTombstone;
 import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.entity.UserStats;
+import com.journal.backend.json.JournalEntryArray;
 import com.journal.backend.repository.JournalEntryRepository;
+import com.journal.backend.search.SetupQuery;
+import com.journal.backend.search.SetupSearchService;
+import com.journal.backend.symbol.SymbolDictionary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class JournalEntryService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    // Rows per DELETE statement in bulk deletes; bounds the IN list and the rows read back
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private static final Set<EntryField> REQUIRED_FIELDS =
+            EnumSet.of(EntryField.ENTRY_TIME, EntryField.SYMBOL, EntryField.ENTRY, EntryField.POSITION_SIZE);
+
     @Autowired
     private JournalEntryRepository journalEntryRepository;
 
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private JournalEntryCache journalEntryCache;
+
+    @Autowired
+    private SymbolDictionary symbolDictionary;
+
+    @Autowired
+    private SetupSearchService setupSearchService;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchChunkSize;
+
     public List<JournalEntryResponse> getAllEntriesByUserId(String userId) {
-        List<JournalEntry> entries = journalEntryRepository.findByUserIdOrderByEntryTimeDesc(userId);
-        return entries.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return journalEntryCache.getListing(userId, null, () -> {
+            List<JournalEntry> entries = journalEntryRepository.findByUserIdOrderByEntryTimeDesc(userId);
+            return entries.stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+        });
     }
 
     public Optional<JournalEntryResponse> getEntryById(Long id) {
-        Optional<JournalEntry> entry = journalEntryRepository.findById(id);
-        return entry.map(this::convertToResponse);
+        return Optional.ofNullable(journalEntryCache.getEntry(id, () -> journalEntryRepository.findById(id)
+                .map(this::convertToResponse)
+                .orElse(null)));
     }
 
+    @Transactional
     public JournalEntryResponse createEntry(JournalEntryRequest request) {
+        changeLog.beginChange();
         JournalEntry entry = convertToEntity(request);
         JournalEntry savedEntry = journalEntryRepository.save(entry);
+        setupSearchService.index(savedEntry);
+
+        StatsDelta delta = new StatsDelta();
+        delta.add(savedEntry.getEntryTime(), savedEntry.getPnl());
+        userStatsService.apply(savedEntry.getUserId(), delta);
+        journalEntryCache.invalidateUser(savedEntry.getUserId());
+
         return convertToResponse(savedEntry);
     }
 
+    /**
+     * Validates every request up front, then inserts the valid ones in one transaction,
+     * flushing and clearing the persistence context every JDBC batch so memory stays bounded.
+     * Invalid items are reported and skipped; they do not abort the rest of the batch.
+     *
+     * @throws BatchTooLargeException if more than {@value #MAX_BATCH_SIZE} requests are given
+     */
+    @Transactional
+    public BatchCreateResponse createEntries(List<JournalEntryRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(requests.size());
+        }
+        changeLog.beginChange();
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        // Sorted so concurrent batches lock the users' stats rows in the same order
+        Map<String, StatsDelta> deltas = new TreeMap<>();
+        List<JournalEntry> pending = new ArrayList<>(batchChunkSize);
+        int[] pendingIndexes = new int[batchChunkSize];
+        int created = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, errors);
+                continue;
+            }
+            JournalEntry entry = convertToEntity(requests.get(i));
+            entityManager.persist(entry);
+            setupSearchService.index(entry);
+            deltas.computeIfAbsent(entry.getUserId(), userId -> new StatsDelta()).add(entry.getEntryTime(), entry.getPnl());
+            pendingIndexes[pending.size()] = i;
+            pending.add(entry);
+            if (pending.size() == batchChunkSize) {
+                created += flushChunk(pending, pendingIndexes, results);
+            }
+        }
+        created += flushChunk(pending, pendingIndexes, results);
+        userStatsService.applyAll(deltas);
+        deltas.keySet().forEach(journalEntryCache::invalidateUser);
+
+        return new BatchCreateResponse(created, requests.size() - created, List.of(results));
+    }
+
+    @Transactional
     public Optional<JournalEntryResponse> updateEntry(Long id, JournalEntryRequest request) {
+        changeLog.beginChange();
         Optional<JournalEntry> existingEntry = journalEntryRepository.findById(id);
         
         if (existingEntry.isPresent()) {
             JournalEntry entry = existingEntry.get();
+            String previousUserId = entry.getUserId();
+            LocalDateTime previousEntryTime = entry.getEntryTime();
+            Double previousPnl = entry.getPnl();
+            String previousSetup = entry.getSetup();
             updateEntityFromRequest(entry, request);
             JournalEntry savedEntry = journalEntryRepository.save(entry);
+            if (!previousUserId.equals(savedEntry.getUserId()) || !Objects.equals(previousSetup, savedEntry.getSetup())) {
+                setupSearchService.remove(id);
+                setupSearchService.index(savedEntry);
+            }
+
+            StatsDelta removed = new StatsDelta();
+            removed.remove(previousEntryTime, previousPnl);
+            if (previousUserId.equals(savedEntry.getUserId())) {
+                removed.add(savedEntry.getEntryTime(), savedEntry.getPnl());
+                userStatsService.apply(previousUserId, removed);
+            } else {
+                StatsDelta added = new StatsDelta();
+                added.add(savedEntry.getEntryTime(), savedEntry.getPnl());
+                Map<String, StatsDelta> deltas = new TreeMap<>();
+                deltas.put(previousUserId, removed);
+                deltas.put(savedEntry.getUserId(), added);
+                userStatsService.applyAll(deltas);
+                journalEntryCache.invalidateUser(savedEntry.getUserId());
+                changeLog.recordMove(id, previousUserId, savedEntry.getUserId());
+            }
+            journalEntryCache.invalidateUser(previousUserId);
+            journalEntryCache.invalidateEntry(id);
+
             return Optional.of(convertToResponse(savedEntry));
         }
         
         return Optional.empty();
     }
 
-    public boolean deleteEntry(Long id) {
-        if (journalEntryRepository.existsById(id)) {
-            journalEntryRepository.deleteById(id);
-            return true;
+    /**
+     * Applies a partial update with a single UPDATE; see {@link JournalEntryPatch}. The previous
+     * values come back from that same statement, so stats, search and caches are kept in step
+     * without reading the entry first.
+     *
+     * @param ownerId if not null, another user's entry is treated as missing
+     * @return empty if there is no such entry
+     * @throws ObjectOptimisticLockingFailureException if the entry is no longer at the patch's version
+     * @throws IllegalArgumentException for a missing version, an empty patch or a required field set to null
+     */
+    @Transactional
+    public Optional<JournalEntryResponse> patchEntry(Long id, JournalEntryPatch patch, String ownerId) {
+        Map<EntryField, Object> changes = patch.getChanges();
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to change");
+        }
+        for (EntryField field : REQUIRED_FIELDS) {
+            if (changes.containsKey(field) && changes.get(field) == null) {
+                throw new IllegalArgumentException(field.getProperty() + " cannot be cleared");
+            }
+        }
+        if (changes.containsKey(EntryField.SYMBOL) && ((String) changes.get(EntryField.SYMBOL)).isBlank()) {
+            throw new IllegalArgumentException("symbol cannot be blank");
+        }
+
+        changeLog.beginChange();
+        LocalDateTime now = LocalDateTime.now();
+        Optional<JournalEntry> previous = journalEntryRepository.patchEntry(id, patch.getVersion(), ownerId, changes, now);
+        if (previous.isEmpty()) {
+            // Only a failed patch pays for telling "gone" from "changed underneath"
+            boolean exists = journalEntryRepository.findById(id)
+                    .filter(entry -> ownerId == null || ownerId.equals(entry.getUserId()))
+                    .isPresent();
+            if (exists) {
+                throw new ObjectOptimisticLockingFailureException(JournalEntry.class, id);
+            }
+            return Optional.empty();
+        }
+
+        JournalEntry entry = previous.get();
+        LocalDateTime previousEntryTime = entry.getEntryTime();
+        Double previousPnl = entry.getPnl();
+        String previousSetup = entry.getSetup();
+        applyPatch(entry, changes);
+        entry.setUpdatedAt(now);
+        entry.setVersion(entry.getVersion() + 1);
+        if (!Objects.equals(previousSetup, entry.getSetup())) {
+            setupSearchService.remove(id);
+            setupSearchService.index(entry);
+        }
+
+        StatsDelta delta = new StatsDelta();
+        delta.remove(previousEntryTime, previousPnl);
+        delta.add(entry.getEntryTime(), entry.getPnl());
+        userStatsService.apply(entry.getUserId(), delta);
+        journalEntryCache.invalidateUser(entry.getUserId());
+        journalEntryCache.invalidateEntry(id);
+
+        return Optional.of(convertToResponse(entry));
+    }
+
+    /**
+     * @param ownerId if not null, another user's entry is treated as missing
+     * @return false if there is no such entry
+     */
+    @Transactional
+    public boolean deleteEntry(Long id, String ownerId) {
+        return deleteEntries(List.of(id), ownerId) == 1;
+    }
+
+    /**
+     * Deletes the given entries with one DELETE per {@value #DELETE_CHUNK_SIZE} ids. Unknown ids,
+     * and other users' ids when {@code ownerId} is given, are skipped.
+     *
+     * @return how many entries were deleted
+     * @throws BatchTooLargeException if more than {@value #MAX_BATCH_SIZE} ids are given
+     */
+    @Transactional
+    public int deleteEntries(List<Long> ids, String ownerId) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(ids.size());
+        }
+        changeLog.beginChange();
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<String, StatsDelta> deltas = new TreeMap<>();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            deleted += settleDeleted(journalEntryRepository.deleteEntries(chunk, ownerId), deltas);
         }
-        return false;
+        settleStats(deltas);
+        return deleted;
+    }
+
+    /**
+     * Deletes all of a user's entries in {@code symbol}, {@value #DELETE_CHUNK_SIZE} rows per DELETE.
+     *
+     * @return how many entries were deleted
+     */
+    @Transactional
+    public int deleteEntriesByUserIdAndSymbol(String userId, String symbol) {
+        changeLog.beginChange();
+        Map<String, StatsDelta> deltas = new TreeMap<>();
+        int deleted = 0;
+        int removed;
+        do {
+            removed = settleDeleted(journalEntryRepository.deleteEntriesByUserIdAndSymbol(
+                    userId, symbol, DELETE_CHUNK_SIZE), deltas);
+            deleted += removed;
+        } while (removed == DELETE_CHUNK_SIZE);
+        settleStats(deltas);
+        return deleted;
+    }
+
+    /**
+     * Deletes a user's entries with an entry time in the inclusive range, {@value #DELETE_CHUNK_SIZE}
+     * rows per DELETE.
+     *
+     * @return how many entries were deleted
+     */
+    @Transactional
+    public int deleteEntriesByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        changeLog.beginChange();
+        Map<String, StatsDelta> deltas = new TreeMap<>();
+        int deleted = 0;
+        int removed;
+        do {
+            removed = settleDeleted(journalEntryRepository.deleteEntriesByUserIdAndEntryTimeBetween(
+                    userId, startDate, endDate, DELETE_CHUNK_SIZE), deltas);
+            deleted += removed;
+        } while (removed == DELETE_CHUNK_SIZE);
+        settleStats(deltas);
+        return deleted;
+    }
+
+    // Rows are [id, userId, entryTime, pnl] as returned by the repository's deletes
+    private int settleDeleted(List<Object[]> rows, Map<String, StatsDelta> deltas) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<Long>> idsByUser = new TreeMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String userId = (String) row[1];
+            idsByUser.computeIfAbsent(userId, user -> new ArrayList<>()).add(id);
+            deltas.computeIfAbsent(userId, user -> new StatsDelta()).remove((LocalDateTime) row[2], (Double) row[3]);
+            journalEntryCache.invalidateEntry(id);
+        }
+        idsByUser.values().forEach(setupSearchService::removeAll);
+        idsByUser.forEach(changeLog::recordDeletions);
+        return rows.size();
+    }
+
+    private void settleStats(Map<String, StatsDelta> deltas) {
+        userStatsService.applyAll(deltas);
+        deltas.keySet().forEach(journalEntryCache::invalidateUser);
     }
 
     public List<JournalEntryResponse> getEntriesByUserIdAndSymbol(String userId, String symbol) {
-        List<JournalEntry> entries = journalEntryRepository.findByUserIdAndSymbolOrderByEntryTimeDesc(userId, symbol);
-        return entries.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return journalEntryCache.getListing(userId, symbol, () -> {
+            List<JournalEntry> entries = journalEntryRepository.findByUserIdAndSymbolOrderByEntryTimeDesc(userId, symbol);
+            return entries.stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+        });
     }
 
-    public List<JournalEntryResponse> getEntriesByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<JournalEntry> entries = journalEntryRepository.findByUserIdAndEntryTimeBetween(userId, startDate, endDate);
-        return entries.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Unpaged, uncached listings are written straight from read-only entities; see JournalEntryArray.
+
+    @Transactional(readOnly = true)
+    public JournalEntryArray getEntriesByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return new JournalEntryArray(journalEntryRepository.findByUserIdAndEntryTimeBetween(userId, startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public JournalEntryArray getOpenPositionsByUserId(String userId) {
+        return new JournalEntryArray(journalEntryRepository.findOpenPositionsByUserId(userId));
+    }
+
+    public EntryPage<JournalEntryResponse> getEntriesPageByUserId(String userId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<JournalEntry> entries;
+        if (cursor == null) {
+            entries = journalEntryRepository.findFirstPageByUserId(userId, pageable);
+        } else {
+            EntryCursor after = EntryCursor.decode(cursor);
+            entries = journalEntryRepository.findNextPageByUserId(userId, after.getEntryTime(), after.getId(), pageable);
+        }
+        return toPage(entries, pageSize);
+    }
+
+    public EntryPage<JournalEntryResponse> getEntriesPageByUserIdAndSymbol(String userId, String symbol, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<JournalEntry> entries;
+        if (cursor == null) {
+            entries = journalEntryRepository.findFirstPageByUserIdAndSymbol(userId, symbol, pageable);
+        } else {
+            EntryCursor after = EntryCursor.decode(cursor);
+            entries = journalEntryRepository.findNextPageByUserIdAndSymbol(
+                    userId, symbol, after.getEntryTime(), after.getId(), pageable);
+        }
+        return toPage(entries, pageSize);
+    }
+
+    public EntryPage<JournalEntryResponse> getEntriesPageByUserIdAndDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                        String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<JournalEntry> entries;
+        if (cursor == null) {
+            entries = journalEntryRepository.findFirstPageByUserIdAndEntryTimeBetween(userId, startDate, endDate, pageable);
+        } else {
+            EntryCursor after = EntryCursor.decode(cursor);
+            entries = journalEntryRepository.findNextPageByUserIdAndEntryTimeBetween(
+                    userId, startDate, endDate, after.getEntryTime(), after.getId(), pageable);
+        }
+        return toPage(entries, pageSize);
+    }
+
+    // Sparse fieldsets: scalar projections of only the requested columns, returned as maps keyed
+    // by field name. They bypass the listing cache, which holds full entries.
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEntryFieldsByUserId(String userId, Set<EntryField> fields) {
+        return toFieldMaps(journalEntryRepository.findFieldsByUserId(userId, fields, null, null, 0), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEntryFieldsByUserIdAndSymbol(String userId, String symbol,
+                                                                      Set<EntryField> fields) {
+        return toFieldMaps(journalEntryRepository.findFieldsByUserIdAndSymbol(
+                userId, symbol, fields, null, null, 0), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEntryFieldsByUserIdAndDateRange(String userId, LocalDateTime startDate,
+                                                                         LocalDateTime endDate, Set<EntryField> fields) {
+        return toFieldMaps(journalEntryRepository.findFieldsByUserIdAndEntryTimeBetween(
+                userId, startDate, endDate, fields, null, null, 0), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOpenPositionFieldsByUserId(String userId, Set<EntryField> fields) {
+        return toFieldMaps(journalEntryRepository.findOpenFieldsByUserId(userId, fields), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public EntryPage<Map<String, Object>> getEntryFieldsPageByUserId(String userId, Set<EntryField> fields,
+                                                                      String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        EntryCursor after = cursor == null ? null : EntryCursor.decode(cursor);
+        List<Object[]> rows = journalEntryRepository.findFieldsByUserId(userId, fields,
+                after == null ? null : after.getEntryTime(), after == null ? null : after.getId(), pageSize + 1);
+        return toFieldsPage(rows, fields, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public EntryPage<Map<String, Object>> getEntryFieldsPageByUserIdAndSymbol(String userId, String symbol,
+                                                                               Set<EntryField> fields,
+                                                                               String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        EntryCursor after = cursor == null ? null : EntryCursor.decode(cursor);
+        List<Object[]> rows = journalEntryRepository.findFieldsByUserIdAndSymbol(userId, symbol, fields,
+                after == null ? null : after.getEntryTime(), after == null ? null : after.getId(), pageSize + 1);
+        return toFieldsPage(rows, fields, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public EntryPage<Map<String, Object>> getEntryFieldsPageByUserIdAndDateRange(String userId,
+                                                                                  LocalDateTime startDate,
+                                                                                  LocalDateTime endDate,
+                                                                                  Set<EntryField> fields,
+                                                                                  String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        EntryCursor after = cursor == null ? null : EntryCursor.decode(cursor);
+        List<Object[]> rows = journalEntryRepository.findFieldsByUserIdAndEntryTimeBetween(userId, startDate,
+                endDate, fields, after == null ? null : after.getEntryTime(), after == null ? null : after.getId(),
+                pageSize + 1);
+        return toFieldsPage(rows, fields, pageSize);
+    }
+
+    /**
+     * Feeds every entry of a user, oldest first, to {@code action} without holding them all in memory.
+     * Each entity is detached once handled so the persistence context stays empty.
+     */
+    @Transactional(readOnly = true)
+    public void forEachEntryByUserId(String userId, Consumer<JournalEntry> action) {
+        try (Stream<JournalEntry> entries = journalEntryRepository.streamByUserIdOrderByEntryTimeAsc(userId)) {
+            entries.forEach(entry -> {
+                action.accept(entry);
+                entityManager.detach(entry);
+            });
+        }
+    }
+
+    public UserStats getUserStats(String userId) {
+        return userStatsService.getStats(userId);
     }
 
     public long getEntryCountByUserId(String userId) {
@@ -79,11 +514,168 @@ public class JournalEntryService {
         return journalEntryRepository.getTotalPnlByUserId(userId);
     }
 
-    private JournalEntry convertToEntity(JournalEntryRequest request) {
+    private List<String> validate(JournalEntryRequest request) {
+        if (request == null) {
+            return List.of("Entry is required");
+        }
+        Set<ConstraintViolation<JournalEntryRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<JournalEntryRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private int flushChunk(List<JournalEntry> pending, int[] pendingIndexes, BatchItemResult[] results) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        for (int i = 0; i < pending.size(); i++) {
+            results[pendingIndexes[i]] = BatchItemResult.created(pendingIndexes[i], pending.get(i).getId());
+        }
+        int flushed = pending.size();
+        pending.clear();
+        entityManager.clear();
+        return flushed;
+    }
+
+    /**
+     * Ranked full-text search over the user's setup notes; see {@link SetupQuery} for the syntax.
+     *
+     * @throws IllegalArgumentException for a query without searchable terms or a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public EntryPage<JournalEntryResponse> searchEntries(String userId, String query, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SetupQuery parsed = SetupQuery.parse(query);
+        SearchCursor after = cursor == null ? null : SearchCursor.decode(cursor);
+        EntryPage<Long> hits = setupSearchService.search(userId, parsed, after, pageSize);
+
+        Map<Long, JournalEntry> entries = new HashMap<>();
+        journalEntryRepository.findAllById(hits.getEntries()).forEach(entry -> entries.put(entry.getId(), entry));
+        List<JournalEntryResponse> responses = new ArrayList<>(entries.size());
+        for (Long id : hits.getEntries()) {
+            JournalEntry entry = entries.get(id);
+            if (entry != null) {
+                responses.add(convertToResponse(entry));
+            }
+        }
+        return new EntryPage<>(responses, hits.getNextCursor());
+    }
+
+    /**
+     * Delta sync: entries created or updated and ids of entries removed since {@code since}, a
+     * cursor from an earlier call. Without one, every entry is returned and no deletions. Pages
+     * hold up to {@code limit} (default {@value #MAX_PAGE_SIZE}) of each, oldest change first.
+     *
+     * @return empty when deletions after the cursor may already have been compacted; the client
+     * must then drop its copy and sync from scratch
+     * @throws IllegalArgumentException for a malformed cursor or limit
+     */
+    @Transactional(readOnly = true)
+    public Optional<EntryChanges> getChanges(String userId, String since, Integer limit) {
+        int pageSize = limit == null ? MAX_PAGE_SIZE : resolvePageSize(limit);
+        SyncCursor after = since == null ? null : SyncCursor.decode(since);
+        if (after != null && changeLog.isCompacted(after.getDeletedAt())) {
+            return Optional.empty();
+        }
+        // Taken before reading, so nothing stamped below it can still be uncommitted
+        LocalDateTime horizon = changeLog.horizon();
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<JournalEntry> changed = after == null
+                ? journalEntryRepository.findFirstChangesByUserId(userId, horizon, pageable)
+                : journalEntryRepository.findNextChangesByUserId(
+                        userId, after.getUpdatedAt(), after.getUpdatedId(), horizon, pageable);
+        // A first sync has nothing to delete; its deletion watermark starts at the horizon
+        List<EntryTombstone> removed = after == null
+                ? List.of()
+                : changeLog.findDeletions(userId, after.getDeletedAt(), after.getDeletedId(), horizon, pageSize + 1);
+
+        // A list that fit in the page is complete up to the horizon, so its watermark moves there
+        LocalDateTime updatedAt = horizon;
+        Long updatedId = 0L;
+        boolean moreChanged = changed.size() > pageSize;
+        if (moreChanged) {
+            changed = changed.subList(0, pageSize);
+            JournalEntry last = changed.get(pageSize - 1);
+            updatedAt = last.getUpdatedAt();
+            updatedId = last.getId();
+        }
+        LocalDateTime deletedAt = horizon;
+        Long deletedId = 0L;
+        boolean moreRemoved = removed.size() > pageSize;
+        if (moreRemoved) {
+            removed = removed.subList(0, pageSize);
+            EntryTombstone last = removed.get(pageSize - 1);
+            deletedAt = last.getDeletedAt();
+            deletedId = last.getEntryId();
+        }
+
+        List<JournalEntryResponse> entries = changed.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        List<Long> deleted = removed.stream()
+                .map(EntryTombstone::getEntryId)
+                .collect(Collectors.toList());
+        String cursor = new SyncCursor(updatedAt, updatedId, deletedAt, deletedId).encode();
+        return Optional.of(new EntryChanges(entries, deleted, cursor, moreChanged || moreRemoved));
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // One extra row is fetched to learn whether another page exists without a COUNT query.
+    private EntryPage<JournalEntryResponse> toPage(List<JournalEntry> entries, int pageSize) {
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            JournalEntry last = entries.get(pageSize - 1);
+            nextCursor = new EntryCursor(last.getEntryTime(), last.getId()).encode();
+        }
+        List<JournalEntryResponse> responses = entries.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new EntryPage<>(responses, nextCursor);
+    }
+
+    private EntryPage<Map<String, Object>> toFieldsPage(List<Object[]> rows, Set<EntryField> fields, int pageSize) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            // id and entryTime always trail the requested columns
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = new EntryCursor((LocalDateTime) last[last.length - 1], (Long) last[last.length - 2]).encode();
+        }
+        return new EntryPage<>(toFieldMaps(rows, fields), nextCursor);
+    }
+
+    private static List<Map<String, Object>> toFieldMaps(List<Object[]> rows, Set<EntryField> fields) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> map = new LinkedHashMap<>(fields.size() * 2);
+            int column = 0;
+            for (EntryField field : fields) {
+                map.put(field.getProperty(), row[column++]);
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    JournalEntry convertToEntity(JournalEntryRequest request) {
         JournalEntry entry = new JournalEntry();
         entry.setUserId(request.getUserId());
         entry.setEntryTime(request.getEntryTime());
-        entry.setSymbol(request.getSymbol());
+        entry.setSymbol(symbolDictionary.intern(request.getSymbol()));
         entry.setEntry(request.getEntry());
         entry.setStopLoss(request.getStopLoss());
         entry.setPositionSize(request.getPositionSize());
@@ -99,7 +691,7 @@ public class JournalEntryService {
     private void updateEntityFromRequest(JournalEntry entry, JournalEntryRequest request) {
         entry.setUserId(request.getUserId());
         entry.setEntryTime(request.getEntryTime());
-        entry.setSymbol(request.getSymbol());
+        entry.setSymbol(symbolDictionary.intern(request.getSymbol()));
         entry.setEntry(request.getEntry());
         entry.setStopLoss(request.getStopLoss());
         entry.setPositionSize(request.getPositionSize());
@@ -111,23 +703,42 @@ public class JournalEntryService {
         entry.setSetup(request.getSetup());
     }
 
-    private JournalEntryResponse convertToResponse(JournalEntry entry) {
-        JournalEntryResponse response = new JournalEntryResponse();
-        response.setId(entry.getId());
-        response.setUserId(entry.getUserId());
-        response.setEntryTime(entry.getEntryTime());
-        response.setSymbol(entry.getSymbol());
-        response.setEntry(entry.getEntry());
-        response.setStopLoss(entry.getStopLoss());
-        response.setPositionSize(entry.getPositionSize());
-        response.setTarget(entry.getTarget());
-        response.setTrailingStop(entry.getTrailingStop());
-        response.setExitTime(entry.getExitTime());
-        response.setExit(entry.getExit());
-        response.setPnl(entry.getPnl());
-        response.setSetup(entry.getSetup());
-        response.setCreatedAt(entry.getCreatedAt());
-        response.setUpdatedAt(entry.getUpdatedAt());
-        return response;
+    private void applyPatch(JournalEntry entry, Map<EntryField, Object> changes) {
+        changes.forEach((field, value) -> {
+            switch (field) {
+                case ENTRY_TIME: entry.setEntryTime((LocalDateTime) value); break;
+                case SYMBOL: entry.setSymbol(symbolDictionary.intern((String) value)); break;
+                case ENTRY: entry.setEntry((Double) value); break;
+                case STOP_LOSS: entry.setStopLoss((Double) value); break;
+                case POSITION_SIZE: entry.setPositionSize((Double) value); break;
+                case TARGET: entry.setTarget((Double) value); break;
+                case TRAILING_STOP: entry.setTrailingStop((Double) value); break;
+                case EXIT_TIME: entry.setExitTime((LocalDateTime) value); break;
+                case EXIT: entry.setExit((Double) value); break;
+                case PNL: entry.setPnl((Double) value); break;
+                case SETUP: entry.setSetup((String) value); break;
+                default: throw new IllegalArgumentException(field.getProperty() + " cannot be patched");
+            }
+        });
+    }
+
+    JournalEntryResponse convertToResponse(JournalEntry entry) {
+        return new JournalEntryResponse(
+                entry.getId(),
+                entry.getUserId(),
+                entry.getEntryTime(),
+                entry.getSymbol(),
+                entry.getEntry(),
+                entry.getStopLoss(),
+                entry.getPositionSize(),
+                entry.getTarget(),
+                entry.getTrailingStop(),
+                entry.getExitTime(),
+                entry.getExit(),
+                entry.getPnl(),
+                entry.getSetup(),
+                entry.getCreatedAt(),
+                entry.getUpdatedAt(),
+                entry.getVersion());
     }
 }
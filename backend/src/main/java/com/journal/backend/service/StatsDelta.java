@@ -0,0 +1,65 @@
+package com.journal.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Net change to one user's stats row and daily PnL rollups produced by a write. Entries are
+ * added and removed by their PnL contribution so an update nets out to a single UPDATE statement.
+ */
+class StatsDelta {
+
+    long entryCount;
+    double totalPnl;
+    long winCount;
+    long lossCount;
+    double grossProfit;
+    double grossLoss;
+
+    // Closed trades per entry date; sorted so rollup rows are always touched in the same order
+    final Map<LocalDate, DayDelta> days = new TreeMap<>();
+
+    void add(LocalDateTime entryTime, Double pnl) {
+        apply(entryTime, pnl, 1);
+    }
+
+    void remove(LocalDateTime entryTime, Double pnl) {
+        apply(entryTime, pnl, -1);
+    }
+
+    boolean isEmpty() {
+        return entryCount == 0 && totalPnl == 0.0 && winCount == 0 && lossCount == 0
+                && grossProfit == 0.0 && grossLoss == 0.0 && days.isEmpty();
+    }
+
+    private void apply(LocalDateTime entryTime, Double pnl, int sign) {
+        entryCount += sign;
+        if (pnl == null) {
+            return;
+        }
+        totalPnl += sign * pnl;
+        if (pnl > 0) {
+            winCount += sign;
+            grossProfit += sign * pnl;
+        } else if (pnl < 0) {
+            lossCount += sign;
+            grossLoss -= sign * pnl;
+        }
+
+        LocalDate day = entryTime.toLocalDate();
+        DayDelta dayDelta = days.computeIfAbsent(day, d -> new DayDelta());
+        dayDelta.tradeCount += sign;
+        dayDelta.pnl += sign * pnl;
+        // An update that leaves the trade on the same day with the same PnL nets out entirely
+        if (dayDelta.tradeCount == 0 && dayDelta.pnl == 0.0) {
+            days.remove(day);
+        }
+    }
+
+    static class DayDelta {
+        long tradeCount;
+        double pnl;
+    }
+}
@@ -0,0 +1,82 @@
+package com.journal.backend.service;
+
+import com.journal.backend.dto.TradeAnalytics;
+
+/**
+ * Folds closed trades, in chronological order, into every analytics figure in a single pass
+ * using only primitive running totals.
+ */
+class TradeAnalyticsAccumulator {
+
+    private long tradeCount;
+    private long winCount;
+    private long lossCount;
+    private double grossProfit;
+    private double grossLoss;
+
+    private double equity;
+    private double peakEquity;
+    private double maxDrawdown;
+
+    private int losingStreak;
+    private int longestLosingStreak;
+
+    private double rMultipleSum;
+    private long rMultipleCount;
+
+    void accept(double pnl, Double entry, Double stopLoss, Double exit) {
+        tradeCount++;
+        if (pnl > 0) {
+            winCount++;
+            grossProfit += pnl;
+            losingStreak = 0;
+        } else if (pnl < 0) {
+            lossCount++;
+            grossLoss -= pnl;
+            losingStreak++;
+            if (losingStreak > longestLosingStreak) {
+                longestLosingStreak = losingStreak;
+            }
+        } else {
+            losingStreak = 0;
+        }
+
+        equity += pnl;
+        if (equity > peakEquity) {
+            peakEquity = equity;
+        } else if (peakEquity - equity > maxDrawdown) {
+            maxDrawdown = peakEquity - equity;
+        }
+
+        // Risk is signed, so the same formula holds for shorts (stop above entry)
+        if (entry != null && stopLoss != null && exit != null) {
+            double risk = entry - stopLoss;
+            if (risk != 0.0) {
+                rMultipleSum += (exit - entry) / risk;
+                rMultipleCount++;
+            }
+        }
+    }
+
+    TradeAnalytics result() {
+        TradeAnalytics analytics = new TradeAnalytics();
+        analytics.setTradeCount(tradeCount);
+        analytics.setWinCount(winCount);
+        analytics.setLossCount(lossCount);
+        analytics.setTotalPnl(equity);
+        analytics.setWinRate(ratio(winCount, tradeCount));
+        analytics.setExpectancy(ratio(equity, tradeCount));
+        analytics.setProfitFactor(ratio(grossProfit, grossLoss));
+        analytics.setAverageWin(ratio(grossProfit, winCount));
+        analytics.setAverageLoss(ratio(grossLoss, lossCount));
+        analytics.setMaxDrawdown(maxDrawdown);
+        analytics.setLongestLosingStreak(longestLosingStreak);
+        analytics.setAverageRMultiple(ratio(rMultipleSum, rMultipleCount));
+        analytics.setRMultipleCount(rMultipleCount);
+        return analytics;
+    }
+
+    private static Double ratio(double numerator, double denominator) {
+        return denominator == 0.0 ? null : numerator / denominator;
+    }
+}
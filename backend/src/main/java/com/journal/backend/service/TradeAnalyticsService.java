@@ -0,0 +1,59 @@
+package com.journal.backend.service;
+
+import com.journal.backend.dto.SymbolSummary;
+import com.journal.backend.dto.TradeAnalytics;
+import com.journal.backend.repository.JournalEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class TradeAnalyticsService {
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    /**
+     * Computes analytics over a user's closed trades, optionally restricted to one symbol and/or
+     * an entry-time range. Pass both dates or neither.
+     */
+    @Transactional(readOnly = true)
+    public TradeAnalytics getAnalytics(String userId, String symbol, LocalDateTime startDate, LocalDateTime endDate) {
+        TradeAnalyticsAccumulator accumulator = new TradeAnalyticsAccumulator();
+        try (Stream<Object[]> rows = openRows(userId, symbol, startDate, endDate)) {
+            rows.forEach(row -> accumulator.accept((Double) row[0], (Double) row[1], (Double) row[2], (Double) row[3]));
+        }
+        return accumulator.result();
+    }
+
+    /**
+     * Entry count, net PnL, win rate and average holding time for each symbol the user traded,
+     * ordered by symbol.
+     */
+    @Transactional(readOnly = true)
+    public List<SymbolSummary> getSymbolBreakdown(String userId) {
+        List<SymbolSummary> summaries = journalEntryRepository.aggregateBySymbolForUserId(userId);
+        summaries.sort(Comparator.comparing(SymbolSummary::getSymbol));
+        return summaries;
+    }
+
+    private Stream<Object[]> openRows(String userId, String symbol, LocalDateTime startDate, LocalDateTime endDate) {
+        boolean ranged = startDate != null && endDate != null;
+        if (symbol != null && ranged) {
+            return journalEntryRepository.streamAnalyticsRowsByUserIdAndSymbolAndEntryTimeBetween(
+                    userId, symbol, startDate, endDate);
+        }
+        if (symbol != null) {
+            return journalEntryRepository.streamAnalyticsRowsByUserIdAndSymbol(userId, symbol);
+        }
+        if (ranged) {
+            return journalEntryRepository.streamAnalyticsRowsByUserIdAndEntryTimeBetween(userId, startDate, endDate);
+        }
+        return journalEntryRepository.streamAnalyticsRowsByUserId(userId);
+    }
+}
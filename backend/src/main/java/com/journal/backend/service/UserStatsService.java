@@ -0,0 +1,268 @@
+package com.journal.backend.service;
+
+import com.journal.backend.dto.StatsDriftReport;
+import com.journal.backend.entity.DailyPnl;
+import com.journal.backend.entity.UserStats;
+import com.journal.backend.repository.DailyPnlRepository;
+import com.journal.backend.repository.JournalEntryRepository;
+import com.journal.backend.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class UserStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    // Summing doubles in a different order than the running totals can differ in the last bits
+    private static final double PNL_TOLERANCE = 1e-6;
+
+    private static final int SEED_LOCK_STRIPES = 64;
+    private static final long SEED_LOCK_TIMEOUT_SECONDS = 10;
+
+    // Held from seeding a user's stats row until that transaction completes, so two first writes
+    // for the same user cannot both insert it
+    private final ReentrantLock[] seedLocks = new ReentrantLock[SEED_LOCK_STRIPES];
+
+    public UserStatsService() {
+        for (int i = 0; i < seedLocks.length; i++) {
+            seedLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private DailyPnlRepository dailyPnlRepository;
+
+    @Autowired
+    private EquityCurveService equityCurveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JournalEntryCache journalEntryCache;
+
+    public UserStats getStats(String userId) {
+        return userStatsRepository.findById(userId)
+                .orElseGet(() -> journalEntryRepository.aggregateStatsByUserId(userId)
+                        .orElseGet(() -> new UserStats(userId)));
+    }
+
+    /**
+     * Folds a write into the user's stats row inside the caller's transaction. A user without a
+     * row yet gets one seeded from a full recomputation, which already includes this write.
+     * The write's daily PnL rollups are updated afterwards, under the stats row's lock.
+     * Writes touching several users go through {@link #applyAll} instead.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(String userId, StatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int updated = userStatsRepository.applyDelta(userId, delta.entryCount, delta.totalPnl,
+                delta.winCount, delta.lossCount, delta.grossProfit, delta.grossLoss);
+        if (updated == 0) {
+            lockSeedUntilCompletion(userId);
+            // Another transaction may have seeded the row while we waited for the lock
+            updated = userStatsRepository.applyDelta(userId, delta.entryCount, delta.totalPnl,
+                    delta.winCount, delta.lossCount, delta.grossProfit, delta.grossLoss);
+            if (updated == 0) {
+                userStatsRepository.save(journalEntryRepository.aggregateStatsByUserId(userId)
+                        .orElseGet(() -> new UserStats(userId)));
+            }
+        }
+        equityCurveService.apply(userId, delta.days);
+    }
+
+    /**
+     * {@link #apply} for several users, in the map's order; pass a sorted map so concurrent writes
+     * lock the stats rows in the same order. The seed locks of users without a row are all taken
+     * first, in stripe order: sorting users does not sort their stripes, and two writes taking
+     * the same stripes in opposite orders would each wait for the other until the lock timeout.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(Map<String, StatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<String> unseeded = new HashSet<>(deltas.keySet());
+        unseeded.removeAll(userStatsRepository.findExistingUserIds(deltas.keySet()));
+        unseeded.stream()
+                .mapToInt(UserStatsService::seedStripe)
+                .distinct()
+                .sorted()
+                .forEach(this::lockStripeUntilCompletion);
+        deltas.forEach(this::apply);
+    }
+
+    private void lockSeedUntilCompletion(String userId) {
+        lockStripeUntilCompletion(seedStripe(userId));
+    }
+
+    private static int seedStripe(String userId) {
+        return Math.floorMod(userId.hashCode(), SEED_LOCK_STRIPES);
+    }
+
+    // Reentrant, so apply() can take a stripe that applyAll() already holds
+    private void lockStripeUntilCompletion(int stripe) {
+        ReentrantLock lock = seedLocks[stripe];
+        try {
+            if (!lock.tryLock(SEED_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for stats seed lock " + stripe);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stats seed lock " + stripe, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Recomputes every user's stats and daily PnL rollups from journal_entries and compares them
+     * with the stored rows. With {@code repair} set, each drifted user is then rebuilt in its own
+     * transaction; a stats row for a user without entries is removed.
+     */
+    public StatsDriftReport verify(boolean repair) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Set<String> checked = new HashSet<>();
+        List<String> drifted = readOnly.execute(status -> findDrift(checked));
+
+        if (repair) {
+            drifted.forEach(this::repair);
+        }
+        if (!drifted.isEmpty()) {
+            logger.warn("User stats drift detected for {} user(s){}: {}", drifted.size(),
+                    repair ? " (repaired)" : "", drifted);
+        }
+        return new StatsDriftReport(checked.size(), drifted, repair && !drifted.isEmpty());
+    }
+
+    @Scheduled(cron = "${journal.stats.verify-cron:0 30 3 * * *}")
+    public void scheduledVerify() {
+        StatsDriftReport report = verify(true);
+        logger.info("Nightly stats verification checked {} user(s), {} drifted",
+                report.getUsersChecked(), report.getDriftedUserIds().size());
+    }
+
+    private List<String> findDrift(Set<String> checked) {
+        Map<String, UserStats> storedStats = new HashMap<>();
+        for (UserStats stats : userStatsRepository.findAll()) {
+            storedStats.put(stats.getUserId(), stats);
+        }
+        Map<String, UserStats> expectedStats = new HashMap<>();
+        for (UserStats stats : journalEntryRepository.aggregateStatsGroupedByUserId()) {
+            expectedStats.put(stats.getUserId(), stats);
+        }
+        Map<String, Map<LocalDate, DailyPnl>> storedDays = new HashMap<>();
+        for (DailyPnl day : dailyPnlRepository.findAll()) {
+            storedDays.computeIfAbsent(day.getUserId(), user -> new HashMap<>()).put(day.getTradeDate(), day);
+        }
+        Map<String, Map<LocalDate, DailyPnl>> expectedDays = new HashMap<>();
+        for (Object[] row : dailyPnlRepository.aggregateFromEntries()) {
+            DailyPnl day = new DailyPnl((String) row[0], ((Date) row[1]).toLocalDate(),
+                    ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue());
+            expectedDays.computeIfAbsent(day.getUserId(), user -> new HashMap<>()).put(day.getTradeDate(), day);
+        }
+
+        checked.addAll(storedStats.keySet());
+        checked.addAll(expectedStats.keySet());
+        checked.addAll(storedDays.keySet());
+        List<String> drifted = new ArrayList<>();
+        for (String userId : new TreeSet<>(checked)) {
+            UserStats expected = expectedStats.get(userId);
+            UserStats actual = storedStats.get(userId);
+            boolean statsMatch = expected == null ? actual == null : actual != null && matches(expected, actual);
+            if (!statsMatch || !daysMatch(expectedDays.getOrDefault(userId, Map.of()),
+                    storedDays.getOrDefault(userId, Map.of()))) {
+                drifted.add(userId);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Overwrites one user's stats row and rollups with a recomputation. Writers update the stats
+     * row before anything else derived from the entries, so holding its lock (or, while the user
+     * has no row, the seed lock) keeps them out until this commits. Their uncommitted entries are
+     * not in the recomputation, and their deltas are applied on top of it afterwards.
+     */
+    private void repair(String userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Optional<UserStats> current = userStatsRepository.findByIdForUpdate(userId);
+            if (current.isEmpty()) {
+                lockSeedUntilCompletion(userId);
+                // A writer may have seeded the row while we waited
+                current = userStatsRepository.findByIdForUpdate(userId);
+            }
+            Optional<UserStats> expected = journalEntryRepository.aggregateStatsByUserId(userId);
+            if (expected.isPresent()) {
+                userStatsRepository.save(expected.get());
+            } else {
+                current.ifPresent(userStatsRepository::delete);
+            }
+            equityCurveService.rebuild(userId);
+        });
+        // Conditional GETs of /stats must not keep answering 304 with the drifted numbers
+        journalEntryCache.invalidateUser(userId);
+    }
+
+    // Rows whose trades were all deleted or reopened are kept at zero, so a missing row equals a zero row
+    private static boolean daysMatch(Map<LocalDate, DailyPnl> expected, Map<LocalDate, DailyPnl> actual) {
+        Set<LocalDate> days = new HashSet<>(expected.keySet());
+        days.addAll(actual.keySet());
+        for (LocalDate day : days) {
+            DailyPnl want = expected.get(day);
+            DailyPnl have = actual.get(day);
+            long wantCount = want != null ? want.getTradeCount() : 0;
+            long haveCount = have != null ? have.getTradeCount() : 0;
+            double wantPnl = want != null ? want.getPnl() : 0.0;
+            double havePnl = have != null ? have.getPnl() : 0.0;
+            if (wantCount != haveCount || Math.abs(wantPnl - havePnl) >= PNL_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(UserStats expected, UserStats actual) {
+        return expected.getEntryCount() == actual.getEntryCount()
+                && expected.getWinCount() == actual.getWinCount()
+                && expected.getLossCount() == actual.getLossCount()
+                && Math.abs(expected.getTotalPnl() - actual.getTotalPnl()) < PNL_TOLERANCE
+                && Math.abs(expected.getGrossProfit() - actual.getGrossProfit()) < PNL_TOLERANCE
+                && Math.abs(expected.getGrossLoss() - actual.getGrossLoss()) < PNL_TOLERANCE;
+    }
+}
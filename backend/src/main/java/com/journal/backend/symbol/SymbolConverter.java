@@ -0,0 +1,28 @@
+package com.journal.backend.symbol;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores {@code JournalEntry.symbol} as its dictionary key. Hibernate also applies it to query
+ * parameters compared with the attribute, so JPQL keeps filtering on {@code j.symbol = :symbol}.
+ * Instantiated through Spring's bean container, which injects the dictionary.
+ */
+@Converter
+public class SymbolConverter implements AttributeConverter<String, Integer> {
+
+    @Autowired
+    private SymbolDictionary symbolDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String symbol) {
+        return symbol == null ? null : symbolDictionary.idOf(symbol);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : symbolDictionary.nameOf(id);
+    }
+}
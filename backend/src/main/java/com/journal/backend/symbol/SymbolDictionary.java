@@ -0,0 +1,198 @@
+package com.journal.backend.symbol;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code symbols} table: maps each symbol to its integer key and back, and
+ * hands out one shared String instance per symbol.
+ *
+ * <p>Loaded before the web server starts and extended by {@link #intern} whenever a write brings a
+ * new symbol. The new row is inserted on the write's own connection and transaction, so interning
+ * never needs a second pool connection. It is visible to that transaction at once and published
+ * to everyone else when the transaction commits; a rollback leaves neither the row nor a cached
+ * key behind. Two writes bringing the same new symbol wait on its unique key, and the second
+ * reads the first one's row once it commits. The table is append-only; rows inserted behind
+ * the application's back are picked up lazily when read, but lookups by name do not see them
+ * until restart.
+ */
+@Component
+public class SymbolDictionary implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(SymbolDictionary.class);
+
+    /** Bound for a symbol that was never stored, so the query matches no entries. */
+    public static final int UNKNOWN_ID = 0;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name FROM symbols")) {
+            while (rows.next()) {
+                register(rows.getInt(1), rows.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not load the symbol dictionary", e);
+        }
+        logger.info("Symbol dictionary loaded {} symbols", names.size());
+    }
+
+    /**
+     * Returns the shared instance for {@code name}, storing the symbol first if it is new.
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return names.get(id);
+        }
+        return create(name);
+    }
+
+    /**
+     * Key for {@code name}, or {@link #UNKNOWN_ID} if it has never been stored. Never inserts,
+     * so filtering by a made-up symbol does not grow the table.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            Pending pending = pending();
+            id = pending != null ? pending.ids.get(name) : null;
+        }
+        return id != null ? id : UNKNOWN_ID;
+    }
+
+    public String nameOf(int id) {
+        String name = names.get(id);
+        if (name == null) {
+            Pending pending = pending();
+            name = pending != null ? pending.names.get(id) : null;
+        }
+        return name != null ? name : load(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private String create(String name) {
+        Pending pending = pending();
+        if (pending != null && pending.ids.containsKey(name)) {
+            return pending.names.get(pending.ids.get(name));
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        int id;
+        try {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO symbols (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    id = keys.getInt(1);
+                }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Stored by a transaction that committed after we looked, or outside this dictionary
+                id = selectId(connection, name);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not store symbol " + name, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(id, name);
+            return names.get(id);
+        }
+        if (pending == null) {
+            pending = new Pending();
+            bind(pending);
+        }
+        pending.ids.put(name, id);
+        pending.names.put(id, name);
+        return name;
+    }
+
+    private Pending pending() {
+        return (Pending) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void bind(Pending pending) {
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(SymbolDictionary.this);
+                if (status == STATUS_COMMITTED) {
+                    pending.names.forEach(SymbolDictionary.this::register);
+                }
+            }
+        });
+    }
+
+    // Runs on the caller's connection too; a row only this transaction can see is already pending
+    private String load(int id) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement select = connection.prepareStatement("SELECT name FROM symbols WHERE id = ?")) {
+            select.setInt(1, id);
+            try (ResultSet rows = select.executeQuery()) {
+                if (!rows.next()) {
+                    throw new IllegalStateException("No symbol with id " + id);
+                }
+                register(id, rows.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not load symbol " + id, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return names.get(id);
+    }
+
+    private static int selectId(Connection connection, String name) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM symbols WHERE name = ?")) {
+            select.setString(1, name);
+            try (ResultSet rows = select.executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    private void register(int id, String name) {
+        String shared = names.computeIfAbsent(id, key -> name);
+        ids.putIfAbsent(shared, id);
+    }
+
+    // Symbols this transaction stored, not yet visible to other transactions
+    private static final class Pending {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<Integer, String> names = new HashMap<>();
+    }
+}
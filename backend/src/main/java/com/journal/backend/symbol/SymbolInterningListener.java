@@ -0,0 +1,24 @@
+package com.journal.backend.symbol;
+
+import com.journal.backend.entity.JournalEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * Makes sure an entry's symbol is in the dictionary before it is written, for saves that bypass
+ * JournalEntryService. {@link SymbolConverter} never inserts, so without this a new symbol
+ * would be stored as {@link SymbolDictionary#UNKNOWN_ID}.
+ */
+public class SymbolInterningListener {
+
+    @Autowired
+    private SymbolDictionary symbolDictionary;
+
+    @PrePersist
+    @PreUpdate
+    public void intern(JournalEntry entry) {
+        entry.setSymbol(symbolDictionary.intern(entry.getSymbol()));
+    }
+}
@@ -0,0 +1,50 @@
+package db.migration;
+
+import com.journal.backend.search.SetupTokenizer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Fills setup_terms for entries written before the search index existed. Written in Java so the
+ * notes are split exactly as {@link SetupTokenizer} splits them at runtime.
+ */
+public class V6__IndexExistingSetups extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet entries = select.executeQuery(
+                     "SELECT id, user_id, setup FROM journal_entries WHERE setup IS NOT NULL");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO setup_terms (user_id, term, entry_id, term_frequency) VALUES (?, ?, ?, ?)")) {
+            int pending = 0;
+            while (entries.next()) {
+                long entryId = entries.getLong(1);
+                String userId = entries.getString(2);
+                for (Map.Entry<String, Integer> term : SetupTokenizer.termFrequencies(entries.getString(3)).entrySet()) {
+                    insert.setString(1, userId);
+                    insert.setString(2, term.getKey());
+                    insert.setLong(3, entryId);
+                    insert.setInt(4, term.getValue());
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
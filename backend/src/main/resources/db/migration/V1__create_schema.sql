@@ -0,0 +1,44 @@
+-- Initial schema. Hibernate only validates against this (ddl-auto=validate), so every
+-- entity change needs a new V<n>__*.sql script next to this one.
+
+-- Pooled sequence; INCREMENT BY must match allocationSize on JournalEntry.id
+CREATE SEQUENCE journal_entry_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE journal_entries (
+    id             BIGINT           NOT NULL PRIMARY KEY,
+    user_id        VARCHAR(255)     NOT NULL,
+    entry_time     TIMESTAMP        NOT NULL,
+    symbol         VARCHAR(255)     NOT NULL,
+    entry_price    DOUBLE PRECISION NOT NULL,
+    stop_loss      DOUBLE PRECISION,
+    position_size  DOUBLE PRECISION NOT NULL,
+    target         DOUBLE PRECISION,
+    trailing_stop  DOUBLE PRECISION,
+    exit_time      TIMESTAMP,
+    exit_price     DOUBLE PRECISION,
+    pnl            DOUBLE PRECISION,
+    setup          VARCHAR(1000),
+    created_at     TIMESTAMP,
+    updated_at     TIMESTAMP
+);
+
+CREATE INDEX idx_journal_user_time ON journal_entries (user_id, entry_time);
+CREATE INDEX idx_journal_user_symbol_time ON journal_entries (user_id, symbol, entry_time);
+CREATE INDEX idx_journal_user_open ON journal_entries (user_id, exit_time, entry_time);
+
+CREATE TABLE users (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email          VARCHAR(255)     NOT NULL,
+    password_hash  VARCHAR(255)     NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_stats (
+    user_id        VARCHAR(255)     NOT NULL PRIMARY KEY,
+    entry_count    BIGINT           NOT NULL,
+    total_pnl      DOUBLE PRECISION NOT NULL,
+    win_count      BIGINT           NOT NULL,
+    loss_count     BIGINT           NOT NULL,
+    gross_profit   DOUBLE PRECISION NOT NULL,
+    gross_loss     DOUBLE PRECISION NOT NULL
+);
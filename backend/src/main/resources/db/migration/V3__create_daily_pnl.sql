@@ -0,0 +1,15 @@
+-- Per-user, per-day rollup of closed trades (pnl set), bucketed by entry date. Kept in step
+-- by every journal write so equity curves never scan journal_entries.
+CREATE TABLE daily_pnl (
+    user_id        VARCHAR(255)     NOT NULL,
+    trade_date     DATE             NOT NULL,
+    trade_count    BIGINT           NOT NULL,
+    pnl            DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (user_id, trade_date)
+);
+
+INSERT INTO daily_pnl (user_id, trade_date, trade_count, pnl)
+SELECT user_id, CAST(entry_time AS DATE), COUNT(*), SUM(pnl)
+FROM journal_entries
+WHERE pnl IS NOT NULL
+GROUP BY user_id, CAST(entry_time AS DATE);
@@ -0,0 +1,21 @@
+-- Symbols are stored once in a dictionary and referenced by a 4-byte key, which shrinks every
+-- journal_entries row and the (user_id, symbol_id, entry_time) index. The dictionary is
+-- append-only, so entries carry no foreign key (H2 would add another index for it).
+CREATE TABLE symbols (
+    id             INT AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(255)     NOT NULL,
+    CONSTRAINT uk_symbols_name UNIQUE (name)
+);
+
+INSERT INTO symbols (name)
+SELECT DISTINCT symbol FROM journal_entries ORDER BY symbol;
+
+ALTER TABLE journal_entries ADD COLUMN symbol_id INT;
+
+UPDATE journal_entries j SET symbol_id = (SELECT s.id FROM symbols s WHERE s.name = j.symbol);
+
+ALTER TABLE journal_entries ALTER COLUMN symbol_id SET NOT NULL;
+
+DROP INDEX idx_journal_user_symbol_time;
+ALTER TABLE journal_entries DROP COLUMN symbol;
+CREATE INDEX idx_journal_user_symbol_time ON journal_entries (user_id, symbol_id, entry_time);
@@ -0,0 +1,14 @@
+-- Delta sync: entries are found by (user_id, updated_at), deletions by a per-user tombstone log
+-- that the application compacts once tombstones pass journal.sync.tombstone-retention.
+UPDATE journal_entries SET updated_at = COALESCE(created_at, entry_time) WHERE updated_at IS NULL;
+
+CREATE INDEX idx_journal_user_updated ON journal_entries (user_id, updated_at);
+
+CREATE TABLE entry_tombstones (
+    user_id        VARCHAR(255)     NOT NULL,
+    entry_id       BIGINT           NOT NULL,
+    deleted_at     TIMESTAMP        NOT NULL,
+    PRIMARY KEY (user_id, entry_id)
+);
+
+CREATE INDEX idx_entry_tombstones_user_deleted ON entry_tombstones (user_id, deleted_at, entry_id);
@@ -0,0 +1,3 @@
+-- Optimistic locking: every update bumps version, and PATCH only applies to the version the
+-- client last read.
+ALTER TABLE journal_entries ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
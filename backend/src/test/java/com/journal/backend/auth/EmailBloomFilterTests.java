@@ -0,0 +1,32 @@
+package com.journal.backend.auth;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailBloomFilterTests {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void hasNoFalseNegativesAndStaysNearItsTargetRate() {
+        EmailBloomFilter filter = new EmailBloomFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("trader-" + i + "@example.com");
+        }
+        for (int i = 0; i < USERS; i++) {
+            assertTrue(filter.mightContain("trader-" + i + "@example.com"), "false negative");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (filter.mightContain("someone-else-" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / USERS;
+        assertTrue(observed < 0.015, () -> String.format(
+                "false-positive rate %.4f with %d bytes and %d hashes (expected %.4f)",
+                observed, filter.getMemoryBytes(), filter.getHashCount(), filter.expectedFalsePositiveRate()));
+    }
+}
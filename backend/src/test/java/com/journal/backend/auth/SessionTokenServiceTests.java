@@ -0,0 +1,54 @@
+package com.journal.backend.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionTokenServiceTests {
+
+    private static final byte[] KEY = new byte[32];
+
+    private final SessionTokenService service = new SessionTokenService(KEY, Duration.ofHours(1));
+
+    @Test
+    void issuedTokenVerifiesToItsUser() {
+        String token = service.issue("alice@example.com");
+        assertEquals(Optional.of("alice@example.com"), service.verify(token));
+    }
+
+    @Test
+    void alteredTokensAreRejected() {
+        String token = service.issue("alice@example.com");
+        String otherUser = service.issue("bob@example.com");
+        String[] parts = token.split("\\.");
+        String[] otherParts = otherUser.split("\\.");
+
+        assertTrue(service.verify(otherParts[0] + "." + parts[1] + "." + parts[2]).isEmpty(), "swapped user");
+        assertTrue(service.verify(parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2]).isEmpty(),
+                "extended expiry");
+        assertTrue(service.verify(parts[0] + "." + parts[1] + "." + otherParts[2]).isEmpty(), "foreign signature");
+        assertTrue(service.verify(parts[0] + "." + parts[1]).isEmpty(), "missing signature");
+        assertTrue(service.verify("").isEmpty(), "empty");
+        assertTrue(service.verify("..").isEmpty(), "no content");
+        assertTrue(service.verify("a.b.c").isEmpty(), "garbage");
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        SessionTokenService expired = new SessionTokenService(KEY, Duration.ofSeconds(-1));
+        assertTrue(service.verify(expired.issue("alice@example.com")).isEmpty());
+    }
+
+    @Test
+    void tokenFromAnotherKeyIsRejected() {
+        byte[] otherKey = Arrays.copyOf(KEY, KEY.length);
+        otherKey[0] = 1;
+        SessionTokenService other = new SessionTokenService(otherKey, Duration.ofHours(1));
+        assertTrue(service.verify(other.issue("alice@example.com")).isEmpty());
+    }
+}
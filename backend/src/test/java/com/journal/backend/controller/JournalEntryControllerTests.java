@@ -0,0 +1,414 @@
+package com.journal.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.journal.backend.auth.SessionTokenService;
+import com.journal.backend.dto.JournalEntryRequest;
+import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.dto.SyncCursor;
+import com.journal.backend.service.JournalEntryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs with the default profile, where {@code journal.auth.required} is off and calls without a
+ * session token are accepted unless an endpoint says otherwise.
+ */
+@SpringBootTest(properties = "journal.auth.admin-users=" + JournalEntryControllerTests.ADMIN)
+@AutoConfigureMockMvc
+class JournalEntryControllerTests {
+
+    static final String ADMIN = "admin@example.com";
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 6, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bulkDeletesNeedTheUsersOwnToken() throws Exception {
+        String owner = "bulk-owner@example.com";
+        create(owner, "AAPL", DAY);
+        create(owner, "AAPL", DAY.plusHours(1));
+        create(owner, "MSFT", DAY.plusHours(2));
+
+        mockMvc.perform(delete("/api/journal/user/{userId}/symbol/{symbol}", owner, "AAPL"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/journal/user/{userId}/date-range", owner)
+                        .param("startDate", DAY.minusDays(1).toString())
+                        .param("endDate", DAY.plusDays(1).toString()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/journal/user/{userId}/symbol/{symbol}", owner, "AAPL")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("someone-else@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/journal/user/{userId}/date-range", owner)
+                        .header(HttpHeaders.AUTHORIZATION, bearer("someone-else@example.com"))
+                        .param("startDate", DAY.minusDays(1).toString())
+                        .param("endDate", DAY.plusDays(1).toString()))
+                .andExpect(status().isForbidden());
+        assertEquals(3, journalEntryService.getUserStats(owner).getEntryCount());
+
+        mockMvc.perform(delete("/api/journal/user/{userId}/symbol/{symbol}", owner, "AAPL")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+        mockMvc.perform(delete("/api/journal/user/{userId}/date-range", owner)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                        .param("startDate", DAY.minusDays(1).toString())
+                        .param("endDate", DAY.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+        assertEquals(0, journalEntryService.getUserStats(owner).getEntryCount());
+    }
+
+    @Test
+    void batchDeleteNeedsATokenAndSkipsOtherUsersIds() throws Exception {
+        String owner = "batch-delete-owner@example.com";
+        Long mine = create(owner, "AAPL", DAY);
+        Long theirs = create("batch-delete-other@example.com", "AAPL", DAY);
+        String ids = "[" + mine + "," + theirs + "]";
+
+        mockMvc.perform(post("/api/journal/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids))
+                .andExpect(status().isForbidden());
+        assertTrue(journalEntryService.getEntryById(mine).isPresent());
+
+        mockMvc.perform(post("/api/journal/batch/delete")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+        assertTrue(journalEntryService.getEntryById(mine).isEmpty());
+        assertTrue(journalEntryService.getEntryById(theirs).isPresent());
+    }
+
+    @Test
+    void pagesThroughEntriesSharingAnEntryTimeWithoutDuplicatesOrGaps() throws Exception {
+        String owner = "pager@example.com";
+        List<Long> expected = new ArrayList<>();
+        expected.add(create(owner, "AAPL", DAY.plusHours(1)));
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tied.add(create(owner, "AAPL", DAY));
+        }
+        tied.sort(Collections.reverseOrder());
+        expected.addAll(tied);
+        expected.add(create(owner, "AAPL", DAY.minusHours(1)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder pageRequest = get("/api/journal/user/{userId}", owner).param("limit", "2");
+            if (cursor != null) {
+                pageRequest.param("cursor", cursor);
+            }
+            MockHttpServletResponse page = listing(pageRequest);
+            objectMapper.readTree(page.getContentAsString()).forEach(entry -> seen.add(entry.get("id").asLong()));
+            cursor = page.getHeader(JournalEntryController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(expected, seen);
+        assertEquals(4, pages);
+        // A page that ends exactly on the last entry has no next cursor either
+        assertNull(listing(get("/api/journal/user/{userId}", owner).param("limit", "7"))
+                .getHeader(JournalEntryController.NEXT_CURSOR_HEADER));
+
+        for (String malformed : List.of("not-a-cursor", "", "MjAyNA")) {
+            MvcResult rejected = mockMvc.perform(get("/api/journal/user/{userId}", owner)
+                            .param("limit", "2").param("cursor", malformed))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(rejected))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void batchCreateReportsNullItemsAsInvalid() throws Exception {
+        String owner = "batch-owner@example.com";
+        String entry = "{\"userId\":\"" + owner + "\",\"symbol\":\"AAPL\",\"entryTime\":\"" + DAY
+                + "\",\"entry\":100.0,\"positionSize\":10.0}";
+
+        mockMvc.perform(post("/api/journal/batch")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null," + entry + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[0].errors[0]").value("Entry is required"))
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"));
+
+        String oversized = "[" + String.join(",", Collections.nCopies(JournalEntryService.MAX_BATCH_SIZE + 1, "null")) + "]";
+        mockMvc.perform(post("/api/journal/batch")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oversized))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void patchAppliesAtTheCurrentVersionAndBumpsIt() throws Exception {
+        Long id = create("patch-owner@example.com", "AAPL", DAY);
+
+        mockMvc.perform(patch("/api/journal/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":0,\"exit\":105.0,\"pnl\":50.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.exit").value(105.0))
+                .andExpect(jsonPath("$.pnl").value(50.0))
+                .andExpect(jsonPath("$.entry").value(100.0));
+        mockMvc.perform(patch("/api/journal/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":1,\"exit\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.exit").doesNotExist());
+        assertEquals(50.0, journalEntryService.getUserStats("patch-owner@example.com").getTotalPnl());
+    }
+
+    @Test
+    void patchAtAStaleVersionConflictsAndChangesNothing() throws Exception {
+        Long id = create("patch-stale@example.com", "AAPL", DAY);
+        mockMvc.perform(patch("/api/journal/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":0,\"pnl\":20.0}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/journal/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":0,\"pnl\":-70.0}"))
+                .andExpect(status().isConflict());
+        JournalEntryResponse entry = journalEntryService.getEntryById(id).orElseThrow();
+        assertEquals(1L, entry.getVersion());
+        assertEquals(20.0, entry.getPnl());
+        assertEquals(20.0, journalEntryService.getUserStats("patch-stale@example.com").getTotalPnl());
+    }
+
+    @Test
+    void patchRejectsPropertiesItCannotChange() throws Exception {
+        Long id = create("patch-keys@example.com", "AAPL", DAY);
+
+        for (String body : List.of("{\"version\":0,\"userId\":\"thief@example.com\"}",
+                "{\"version\":0,\"createdAt\":\"2024-01-01T00:00:00\"}",
+                "{\"version\":0,\"exitPrice\":105.0}")) {
+            mockMvc.perform(patch("/api/journal/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        JournalEntryResponse entry = journalEntryService.getEntryById(id).orElseThrow();
+        assertEquals(0L, entry.getVersion());
+        assertEquals("patch-keys@example.com", entry.getUserId());
+    }
+
+    @Test
+    void syncHoldsBackChangesBehindAWriteStillInFlight() throws Exception {
+        String owner = "sync-slow@example.com";
+        create(owner, "AAPL", DAY);
+        String cursor = cursor(sync(owner, null));
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Long> slowId = new AtomicReference<>();
+        Thread writer = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            slowId.set(journalEntryService.createEntry(entryRequest(owner, "MSFT", DAY.plusHours(1))).getId());
+            written.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        writer.start();
+        try {
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            JsonNode during = sync(owner, cursor);
+            assertEquals(List.of(), entryIds(during));
+            cursor = cursor(during);
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+
+        assertEquals(List.of(slowId.get()), entryIds(sync(owner, cursor)));
+    }
+
+    @Test
+    void syncReportsDeletedAndMovedEntriesAsDeleted() throws Exception {
+        String owner = "sync-owner@example.com";
+        String other = "sync-other@example.com";
+        Long kept = create(owner, "AAPL", DAY);
+        Long deleted = create(owner, "AAPL", DAY.plusHours(1));
+        Long moved = create(owner, "MSFT", DAY.plusHours(2));
+        JsonNode first = sync(owner, null);
+        assertEquals(List.of(kept, deleted, moved), entryIds(first));
+        assertEquals(List.of(), deletedIds(first));
+
+        journalEntryService.deleteEntry(deleted, null);
+        journalEntryService.updateEntry(moved, entryRequest(other, "MSFT", DAY.plusHours(2)));
+
+        JsonNode next = sync(owner, cursor(first));
+        assertEquals(List.of(), entryIds(next));
+        assertEquals(List.of(deleted, moved), deletedIds(next));
+        assertEquals(List.of(moved), entryIds(sync(other, null)));
+        assertEquals(List.of(), deletedIds(sync(owner, cursor(next))));
+    }
+
+    @Test
+    void syncFromACompactedCursorIsGone() throws Exception {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+        String stale = new SyncCursor(longAgo, 0L, longAgo, 0L).encode();
+
+        mockMvc.perform(get("/api/journal/user/{userId}/sync", "sync-stale@example.com").param("since", stale))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/journal/user/{userId}/sync", "sync-stale@example.com").param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void analyticsKeysFollowThePropertyNames() throws Exception {
+        String owner = "analytics@example.com";
+        JournalEntryRequest closed = entryRequest(owner, "AAPL", DAY);
+        closed.setStopLoss(95.0);
+        closed.setExitTime(DAY.plusHours(1));
+        closed.setExit(110.0);
+        closed.setPnl(100.0);
+        journalEntryService.createEntry(closed);
+
+        MvcResult analytics = mockMvc.perform(get("/api/journal/user/{userId}/analytics", owner))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(analytics))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRMultiple").value(2.0))
+                .andExpect(jsonPath("$.rMultipleCount").value(1))
+                .andReturn().getResponse().getContentAsString();
+        Set<String> keys = new TreeSet<>();
+        objectMapper.readTree(body).fieldNames().forEachRemaining(keys::add);
+        assertEquals(new TreeSet<>(List.of("tradeCount", "winCount", "lossCount", "totalPnl", "winRate",
+                "expectancy", "profitFactor", "averageWin", "averageLoss", "maxDrawdown",
+                "longestLosingStreak", "averageRMultiple", "rMultipleCount")), keys);
+    }
+
+    @Test
+    void statsVerifyIsAdminOnly() throws Exception {
+        mockMvc.perform(post("/api/journal/stats/verify"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/journal/stats/verify")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("someone@example.com")))
+                .andExpect(status().isForbidden());
+
+        MvcResult verify = mockMvc.perform(post("/api/journal/stats/verify")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(ADMIN)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(verify))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.repaired").value(false));
+    }
+
+    private Long create(String userId, String symbol, LocalDateTime entryTime) {
+        return journalEntryService.createEntry(entryRequest(userId, symbol, entryTime)).getId();
+    }
+
+    private static JournalEntryRequest entryRequest(String userId, String symbol, LocalDateTime entryTime) {
+        JournalEntryRequest request = new JournalEntryRequest();
+        request.setUserId(userId);
+        request.setSymbol(symbol);
+        request.setEntryTime(entryTime);
+        request.setEntry(100.0);
+        request.setPositionSize(10.0);
+        return request;
+    }
+
+    private MockHttpServletResponse listing(MockHttpServletRequestBuilder listingRequest) throws Exception {
+        MvcResult result = mockMvc.perform(listingRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private JsonNode sync(String userId, String since) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/journal/user/{userId}/sync", userId);
+        if (since != null) {
+            request.param("since", since);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static String cursor(JsonNode changes) {
+        return changes.get("cursor").asText();
+    }
+
+    private static List<Long> entryIds(JsonNode changes) {
+        List<Long> ids = new ArrayList<>();
+        changes.get("entries").forEach(entry -> ids.add(entry.get("id").asLong()));
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static List<Long> deletedIds(JsonNode changes) {
+        List<Long> ids = new ArrayList<>();
+        changes.get("deleted").forEach(id -> ids.add(id.asLong()));
+        return ids;
+    }
+
+    private String bearer(String userId) {
+        return "Bearer " + sessionTokenService.issue(userId);
+    }
+}
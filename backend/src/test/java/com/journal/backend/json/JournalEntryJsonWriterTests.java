@@ -0,0 +1,110 @@
+package com.journal.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.journal.backend.dto.JournalEntryResponse;
+import com.journal.backend.entity.JournalEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The hand-written writer must produce exactly what Jackson's bean serialization of
+ * {@link JournalEntryResponse} produced before it was introduced.
+ */
+class JournalEntryJsonWriterTests {
+
+    private static final List<LocalDateTime> TIMES = List.of(
+            LocalDateTime.of(2024, 3, 9, 7, 5),
+            LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+            LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1),
+            LocalDateTime.of(2024, 1, 1, 0, 0, 0, 100_000_000),
+            LocalDateTime.of(2024, 1, 1, 0, 0, 0, 120_000),
+            LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_789),
+            LocalDateTime.of(1, 2, 3, 4, 5, 6),
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(10000, 1, 1, 0, 0),
+            LocalDateTime.of(-5, 6, 7, 8, 9, 10, 11));
+
+    // Plain bean serialization, configured like the application's ObjectMapper
+    private final ObjectMapper reference = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void formatsDatesLikeIsoLocalDateTime() {
+        char[] buffer = new char[IsoDateTimeFormat.MAX_LENGTH];
+        for (LocalDateTime time : TIMES) {
+            int length = IsoDateTimeFormat.format(time, buffer);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time), new String(buffer, 0, length));
+        }
+    }
+
+    @Test
+    void matchesBeanSerializationOfResponses() throws IOException {
+        for (JournalEntry entry : entries()) {
+            JournalEntryResponse response = toResponse(entry);
+            String expected = reference.writeValueAsString(response);
+            assertEquals(expected, write(gen -> JournalEntryJsonWriter.writeEntry(gen, response)));
+            assertEquals(expected, write(gen -> JournalEntryJsonWriter.writeEntry(gen, entry)));
+        }
+    }
+
+    @Test
+    void entityArrayMatchesResponseList() throws IOException {
+        List<JournalEntry> entries = entries();
+        List<JournalEntryResponse> responses = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            responses.add(toResponse(entry));
+        }
+        assertEquals(reference.writeValueAsString(responses), reference.writeValueAsString(new JournalEntryArray(entries)));
+    }
+
+    private List<JournalEntry> entries() {
+        List<JournalEntry> entries = new ArrayList<>();
+        entries.add(new JournalEntry());
+        for (int i = 0; i < TIMES.size(); i++) {
+            JournalEntry entry = new JournalEntry("user-" + i + "@example.com", TIMES.get(i), "SYM" + i, 100.25 * i, 1e-7 + i);
+            entry.setId((long) i * 1_000_003);
+            entry.setStopLoss(i % 2 == 0 ? null : 99.5);
+            entry.setTarget(i % 3 == 0 ? null : 1.0E21);
+            entry.setTrailingStop(-0.0);
+            entry.setExitTime(i % 2 == 0 ? TIMES.get(TIMES.size() - 1 - i) : null);
+            entry.setExit(i % 2 == 0 ? 101.125 : null);
+            entry.setPnl(i % 4 == 0 ? null : (i - 2) * 12.5);
+            entry.setSetup(i % 3 == 0 ? null : "Breakout \"retest\" \\ caf\u00e9 \u2013 line\nbreak \u0001 " + i);
+            entry.setCreatedAt(TIMES.get(i));
+            entry.setUpdatedAt(TIMES.get((i + 3) % TIMES.size()));
+            entry.setVersion((long) i);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static JournalEntryResponse toResponse(JournalEntry e) {
+        return new JournalEntryResponse(e.getId(), e.getUserId(), e.getEntryTime(), e.getSymbol(), e.getEntry(),
+                e.getStopLoss(), e.getPositionSize(), e.getTarget(), e.getTrailingStop(), e.getExitTime(),
+                e.getExit(), e.getPnl(), e.getSetup(), e.getCreatedAt(), e.getUpdatedAt(), e.getVersion());
+    }
+
+    private String write(GeneratorAction action) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = reference.getFactory().createGenerator(out)) {
+            action.write(gen);
+        }
+        return out.toString();
+    }
+
+    private interface GeneratorAction {
+        void write(JsonGenerator gen) throws IOException;
+    }
+}
@@ -0,0 +1,84 @@
+package com.journal.backend.ratelimit;
+
+import com.journal.backend.ratelimit.RateLimiter.EndpointClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimiterTests {
+
+    // 10 per second: one token every 100ms, five at most banked
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long START = TimeUnit.SECONDS.toNanos(1000);
+
+    private final RateLimiter.Buckets buckets = new RateLimiter.Buckets(10, 5, Duration.ofMinutes(10));
+
+    @Test
+    void burstIsAllowedAtOnceAndTheNextRequestWaitsOneInterval() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.tryAcquire("alice", START), "request " + i);
+        }
+        assertEquals(INTERVAL, buckets.tryAcquire("alice", START));
+        assertEquals(1, buckets.tryAcquire("alice", START + INTERVAL - 1));
+        assertEquals(0, buckets.tryAcquire("alice", START + INTERVAL));
+        assertEquals(INTERVAL, buckets.tryAcquire("alice", START + INTERVAL));
+    }
+
+    @Test
+    void refusedRequestsDoNotConsumeTokens() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("alice", START);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(INTERVAL, buckets.tryAcquire("alice", START));
+        }
+        assertEquals(0, buckets.tryAcquire("alice", START + INTERVAL));
+    }
+
+    @Test
+    void idleBucketRefillsToItsBurstButNoFurther() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("alice", START);
+        }
+        long later = START + TimeUnit.MINUTES.toNanos(5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.tryAcquire("alice", later), "request " + i);
+        }
+        assertEquals(INTERVAL, buckets.tryAcquire("alice", later));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("alice", START);
+        }
+        assertEquals(0, buckets.tryAcquire("bob", START));
+    }
+
+    @Test
+    void userAndIpBucketsAreChargedIndependently() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("journal.ratelimit.write.user-per-second", "10")
+                .withProperty("journal.ratelimit.write.user-burst", "2")
+                .withProperty("journal.ratelimit.write.ip-per-second", "10")
+                .withProperty("journal.ratelimit.write.ip-burst", "3");
+        RateLimiter limiter = new RateLimiter(environment);
+
+        assertEquals(0, limiter.acquire(EndpointClass.WRITE, "alice", "10.0.0.1", START));
+        assertEquals(0, limiter.acquire(EndpointClass.WRITE, "alice", "10.0.0.1", START));
+        // Alice's own bucket refuses; the shared IP bucket is not charged for it
+        assertEquals(INTERVAL, limiter.acquire(EndpointClass.WRITE, "alice", "10.0.0.1", START));
+        assertEquals(INTERVAL, limiter.acquire(EndpointClass.WRITE, "alice", "10.0.0.2", START));
+        assertEquals(0, limiter.acquire(EndpointClass.WRITE, "bob", "10.0.0.1", START));
+        // Three tokens taken from 10.0.0.1; anyone else behind it now waits
+        assertEquals(INTERVAL, limiter.acquire(EndpointClass.WRITE, "carol", "10.0.0.1", START));
+        assertEquals(INTERVAL, limiter.acquire(EndpointClass.WRITE, null, "10.0.0.1", START));
+        assertEquals(0, limiter.acquire(EndpointClass.WRITE, null, "10.0.0.3", START));
+        // Other endpoint classes keep their own limits
+        assertEquals(0, limiter.acquire(EndpointClass.READ, "alice", "10.0.0.1", START));
+    }
+}
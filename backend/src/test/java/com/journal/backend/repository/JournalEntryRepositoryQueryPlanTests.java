@@ -0,0 +1,217 @@
+package com.journal.backend.repository;
+
+import com.journal.backend.dto.EntryField;
+import com.journal.backend.entity.JournalEntry;
+import com.journal.backend.symbol.SymbolDictionary;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every custom {@link JournalEntryRepository} query, captures the SQL Hibernate actually
+ * sends, and asks H2 to EXPLAIN it. A query that falls back to a table scan, or that stops using
+ * the index it was written for, fails the build.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.journal.backend.repository.JournalEntryRepositoryQueryPlanTests$SqlRecorder")
+@Import(SymbolDictionary.class)
+class JournalEntryRepositoryQueryPlanTests {
+
+    private static final String USER_TIME = "IDX_JOURNAL_USER_TIME";
+    private static final String USER_SYMBOL_TIME = "IDX_JOURNAL_USER_SYMBOL_TIME";
+    private static final String USER_OPEN = "IDX_JOURNAL_USER_OPEN";
+    private static final String USER_UPDATED = "IDX_JOURNAL_USER_UPDATED";
+    private static final String PRIMARY_KEY = "PRIMARY_KEY";
+
+    private static final Pattern DELTA_TABLE =
+            Pattern.compile("(?is)select .* from (?:old|new|final) table \\((.*)\\)\\s*");
+
+    private static final Set<EntryField> DASHBOARD_FIELDS =
+            EnumSet.of(EntryField.ID, EntryField.SYMBOL, EntryField.ENTRY_TIME, EntryField.PNL);
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 12, 31, 0, 0);
+
+    @Autowired
+    private JournalEntryRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, QueryCase> cases = new LinkedHashMap<>();
+
+    @BeforeEach
+    void seedAndRegisterQueries() {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            JournalEntry entry = new JournalEntry("trader-" + (i % 3), FROM.plusHours(i), "SYM" + (i % 5), 100.0, 10.0);
+            entry.setPnl(i % 2 == 0 ? 25.0 : -10.0);
+            if (i % 4 != 0) {
+                entry.setExitTime(FROM.plusHours(i + 1));
+            }
+            entries.add(entry);
+        }
+        repository.saveAllAndFlush(entries);
+
+        register("findByUserIdOrderByEntryTimeDesc", USER_TIME,
+                () -> repository.findByUserIdOrderByEntryTimeDesc("trader-1"));
+        register("findByUserIdAndSymbolOrderByEntryTimeDesc", USER_SYMBOL_TIME,
+                () -> repository.findByUserIdAndSymbolOrderByEntryTimeDesc("trader-1", "SYM2"));
+        register("findByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> repository.findByUserIdAndEntryTimeBetween("trader-1", FROM, TO));
+        register("findFirstPageByUserId", USER_TIME,
+                () -> repository.findFirstPageByUserId("trader-1", PageRequest.of(0, 50)));
+        register("findNextPageByUserId", USER_TIME,
+                () -> repository.findNextPageByUserId("trader-1", TO, 10L, PageRequest.of(0, 50)));
+        register("findFirstPageByUserIdAndSymbol", USER_SYMBOL_TIME,
+                () -> repository.findFirstPageByUserIdAndSymbol("trader-1", "SYM2", PageRequest.of(0, 50)));
+        register("findNextPageByUserIdAndSymbol", USER_SYMBOL_TIME,
+                () -> repository.findNextPageByUserIdAndSymbol("trader-1", "SYM2", TO, 10L, PageRequest.of(0, 50)));
+        register("findFirstPageByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> repository.findFirstPageByUserIdAndEntryTimeBetween("trader-1", FROM, TO, PageRequest.of(0, 50)));
+        register("findNextPageByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> repository.findNextPageByUserIdAndEntryTimeBetween(
+                        "trader-1", FROM, TO, TO, 10L, PageRequest.of(0, 50)));
+        register("findFirstChangesByUserId", USER_UPDATED,
+                () -> repository.findFirstChangesByUserId("trader-1", TO, PageRequest.of(0, 50)));
+        register("findNextChangesByUserId", USER_UPDATED,
+                () -> repository.findNextChangesByUserId("trader-1", FROM, 10L, TO, PageRequest.of(0, 50)));
+        register("streamByUserIdOrderByEntryTimeAsc", USER_TIME,
+                () -> consume(repository.streamByUserIdOrderByEntryTimeAsc("trader-1")));
+        register("streamAnalyticsRowsByUserId", USER_TIME,
+                () -> consume(repository.streamAnalyticsRowsByUserId("trader-1")));
+        register("streamAnalyticsRowsByUserIdAndSymbol", USER_SYMBOL_TIME,
+                () -> consume(repository.streamAnalyticsRowsByUserIdAndSymbol("trader-1", "SYM2")));
+        register("streamAnalyticsRowsByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> consume(repository.streamAnalyticsRowsByUserIdAndEntryTimeBetween("trader-1", FROM, TO)));
+        register("streamAnalyticsRowsByUserIdAndSymbolAndEntryTimeBetween", USER_SYMBOL_TIME,
+                () -> consume(repository.streamAnalyticsRowsByUserIdAndSymbolAndEntryTimeBetween(
+                        "trader-1", "SYM2", FROM, TO)));
+        register("findOpenPositionsByUserId", USER_OPEN,
+                () -> repository.findOpenPositionsByUserId("trader-1"));
+        register("countByUserId", USER_TIME,
+                () -> repository.countByUserId("trader-1"));
+        register("getTotalPnlByUserId", USER_TIME,
+                () -> repository.getTotalPnlByUserId("trader-1"));
+        register("aggregateStatsByUserId", USER_TIME,
+                () -> repository.aggregateStatsByUserId("trader-1"));
+        register("aggregateStatsGroupedByUserId", USER_TIME,
+                () -> repository.aggregateStatsGroupedByUserId());
+        register("aggregateBySymbolForUserId", USER_TIME,
+                () -> repository.aggregateBySymbolForUserId("trader-1"));
+        register("findFieldsByUserId", USER_TIME,
+                () -> repository.findFieldsByUserId("trader-1", DASHBOARD_FIELDS, null, null, 51));
+        register("findFieldsByUserIdAndSymbol", USER_SYMBOL_TIME,
+                () -> repository.findFieldsByUserIdAndSymbol("trader-1", "SYM2", DASHBOARD_FIELDS, TO, 10L, 51));
+        register("findFieldsByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> repository.findFieldsByUserIdAndEntryTimeBetween(
+                        "trader-1", FROM, TO, DASHBOARD_FIELDS, null, null, 0));
+        register("findOpenFieldsByUserId", USER_OPEN,
+                () -> repository.findOpenFieldsByUserId("trader-1", DASHBOARD_FIELDS));
+        register("patchEntry", PRIMARY_KEY,
+                () -> repository.patchEntry(entries.get(1).getId(), 0L, "trader-1",
+                        Map.of(EntryField.EXIT, 101.0, EntryField.PNL, 10.0), TO));
+        register("deleteEntries", PRIMARY_KEY,
+                () -> repository.deleteEntries(List.of(entries.get(1).getId(), entries.get(4).getId()), "trader-1"));
+        register("deleteEntriesByUserIdAndSymbol", USER_SYMBOL_TIME,
+                () -> repository.deleteEntriesByUserIdAndSymbol("trader-1", "SYM2", 1000));
+        register("deleteEntriesByUserIdAndEntryTimeBetween", USER_TIME,
+                () -> repository.deleteEntriesByUserIdAndEntryTimeBetween("trader-1", FROM, TO, 1000));
+    }
+
+    @Test
+    void everyRepositoryQueryHasAPlanCheck() {
+        Set<String> declared = Stream.of(JournalEntryRepository.class, JournalEntryRepositoryCustom.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(declared, new TreeSet<>(cases.keySet()),
+                "New JournalEntryRepository queries must be registered in this test");
+    }
+
+    @Test
+    void queriesUseTheirIndexes() {
+        List<Executable> checks = new ArrayList<>();
+        cases.forEach((name, queryCase) -> {
+            String plan = explain(queryCase);
+            checks.add(() -> assertFalse(plan.contains("tableScan"), name + " scans the table:\n" + plan));
+            checks.add(() -> assertTrue(plan.contains(queryCase.expectedIndex),
+                    name + " does not use " + queryCase.expectedIndex + ":\n" + plan));
+        });
+        assertAll(checks);
+    }
+
+    private void register(String method, String expectedIndex, Runnable invocation) {
+        cases.put(method, new QueryCase(expectedIndex, invocation));
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.count();
+        }
+    }
+
+    private String explain(QueryCase queryCase) {
+        SqlRecorder.STATEMENTS.clear();
+        queryCase.invocation.run();
+        String sql = SqlRecorder.STATEMENTS.stream()
+                .filter(statement -> statement.trim().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No SELECT captured"));
+        // EXPLAIN on a data change delta table only shows the delta scan, so explain the wrapped statement
+        Matcher delta = DELTA_TABLE.matcher(sql);
+        if (delta.matches()) {
+            sql = delta.group(1);
+        }
+        String explained = sql;
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + explained),
+                resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+
+    private static final class QueryCase {
+        private final String expectedIndex;
+        private final Runnable invocation;
+
+        private QueryCase(String expectedIndex, Runnable invocation) {
+            this.expectedIndex = expectedIndex;
+            this.invocation = invocation;
+        }
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.journal.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SetupQueryTests {
+
+    @Test
+    void wordsAreAndedAndOrJoinsAlternatives() {
+        assertEquals(List.of(List.of("breakout"), List.of("vwap", "ema*")),
+                groups(SetupQuery.parse("Breakout VWAP OR ema*")));
+        assertEquals(List.of(List.of("gap", "fade"), List.of("reclaim")),
+                groups(SetupQuery.parse("OR gap OR fade reclaim OR")));
+    }
+
+    @Test
+    void queriesAreSplitLikeNotes() {
+        assertEquals(List.of(List.of("vwap"), List.of("reclaim")), groups(SetupQuery.parse("vwap-reclaim")));
+        assertEquals(Map.of("vwap", 2, "reclaim", 1), SetupTokenizer.termFrequencies("VWAP-reclaim, vwap: a"));
+    }
+
+    @Test
+    void rejectsQueriesWithoutSearchableTerms() {
+        assertThrows(IllegalArgumentException.class, () -> SetupQuery.parse("a * -"));
+        assertThrows(IllegalArgumentException.class, () -> SetupQuery.parse("t1 t2 t3 t4 t5 t6 t7 t8 t9 t10 t11"));
+    }
+
+    private static List<List<String>> groups(SetupQuery query) {
+        return query.getGroups().stream()
+                .map(group -> group.stream().map(SetupQuery.Term::toString).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+}